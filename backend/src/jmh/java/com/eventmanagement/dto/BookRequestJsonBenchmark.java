@@ -0,0 +1,48 @@
+package com.eventmanagement.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of the POST /registrations request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookRequestJsonBenchmark {
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private BookRequest request;
+    private String json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        reader = mapper.readerFor(BookRequest.class);
+        writer = mapper.writerFor(BookRequest.class);
+        request = BookRequest.builder().eventId(42L).numberOfTickets(2).build();
+        json = writer.writeValueAsString(request);
+    }
+
+    @Benchmark
+    public BookRequest deserialize() throws JsonProcessingException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return writer.writeValueAsString(request);
+    }
+}
@@ -0,0 +1,196 @@
+package com.eventmanagement.loadtest;
+
+import com.eventmanagement.EventManagementApplication;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.service.TicketInventory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reproduces an on-sale spike locally: starts the app on an embedded H2 database in
+ * MySQL mode, seeds one published event with a fixed ticket count, fires one
+ * POST /registrations per distinct attendee at the configured concurrency and
+ * reports throughput and latency percentiles. Exits non-zero if the tickets table
+ * and the registrations disagree (tickets_left + booked != max_tickets) or if more
+ * tickets were sold than exist.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec \
+ *     -Dbench.main=com.eventmanagement.loadtest.FlashSaleSimulator \
+ *     -Dbench.args="--users=5000 --tickets=1000 --concurrency=200 --inventory=memory"
+ * </pre>
+ */
+public class FlashSaleSimulator {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parse(args);
+        int userCount = Integer.parseInt(options.getOrDefault("users", "5000"));
+        int ticketCount = Integer.parseInt(options.getOrDefault("tickets", "1000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int ticketsPerBooking = Integer.parseInt(options.getOrDefault("per-booking", "1"));
+        String inventoryMode = options.getOrDefault("inventory", "database");
+
+        Map<String, Object> properties = new HashMap<>();
+        // No application.yml: everything the app needs for this run is set here
+        properties.put("spring.config.name", "flash-sale");
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:flashsale;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", "10");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("server.port", "0");
+        properties.put("server.servlet.context-path", "/api");
+        properties.put("server.tomcat.threads.max", String.valueOf(Math.max(200, concurrency)));
+        properties.put("app.inventory.mode", inventoryMode);
+        properties.put("logging.level.root", "WARN");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .properties(properties)
+                .run();
+        int exitCode;
+        try {
+            exitCode = run(context, userCount, ticketCount, concurrency, ticketsPerBooking, inventoryMode);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(ConfigurableApplicationContext context, int userCount, int ticketCount,
+                           int concurrency, int ticketsPerBooking, String inventoryMode) throws Exception {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        Long eventId = seedEvent(context, ticketCount);
+        List<String> tokens = LoadTestSupport.seedAttendees(context, "loadtest", userCount);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(concurrency))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/registrations");
+        String body = "{\"eventId\":" + eventId + ",\"numberOfTickets\":" + ticketsPerBooking + "}";
+
+        long[] latencies = new long[userCount];
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(userCount);
+        for (int i = 0; i < userCount; i++) {
+            final int index = i;
+            workers.execute(() -> {
+                try {
+                    start.await();
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + tokens.get(index))
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    long t0 = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    latencies[index] = System.nanoTime() - t0;
+                    if (response.statusCode() == 201) {
+                        booked.incrementAndGet();
+                    } else if (response.body().contains("Not enough tickets")) {
+                        soldOut.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                } catch (Exception ex) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long wallStart = System.nanoTime();
+        start.countDown();
+        done.await();
+        long wallNanos = System.nanoTime() - wallStart;
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Memory mode writes tickets_left behind; push it out before checking the table
+        context.getBean(TicketInventory.class).flush();
+
+        Arrays.sort(latencies);
+        System.out.printf("inventory=%s users=%d tickets=%d concurrency=%d%n",
+                inventoryMode, userCount, ticketCount, concurrency);
+        System.out.printf("booked=%d soldOut=%d failed=%d%n", booked.get(), soldOut.get(), failed.get());
+        System.out.printf("throughput=%.1f req/s%n", userCount / (wallNanos / 1e9));
+        System.out.printf("latency ms p50=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                LoadTestSupport.percentile(latencies, 0.50), LoadTestSupport.percentile(latencies, 0.99),
+                LoadTestSupport.percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e6);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT t.max_tickets AS max_tickets, t.tickets_left AS tickets_left, "
+                        + "COALESCE((SELECT SUM(r.number_of_tickets) FROM registrations r WHERE r.event_id = t.event_id), 0) AS booked "
+                        + "FROM tickets t WHERE t.event_id = ?", eventId);
+        long max = ((Number) row.get("max_tickets")).longValue();
+        long left = ((Number) row.get("tickets_left")).longValue();
+        long sold = ((Number) row.get("booked")).longValue();
+        System.out.printf("max_tickets=%d tickets_left=%d booked_tickets=%d%n", max, left, sold);
+        if (left + sold != max || sold > max || left < 0) {
+            System.out.println("FAILED: inventory does not add up");
+            return 1;
+        }
+        System.out.println("OK: tickets_left + booked == max_tickets");
+        return 0;
+    }
+
+    private static Long seedEvent(ConfigurableApplicationContext context, int ticketCount) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        TicketRepository ticketRepository = context.getBean(TicketRepository.class);
+        User organizer = userRepository.save(User.builder()
+                .firstName("Load").lastName("Organizer")
+                .email("loadtest-organizer@eventhub.com")
+                .role(User.UserRole.ORGANIZER)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        Event event = eventRepository.save(Event.builder()
+                .name("Flash Sale Event")
+                .startDate(start)
+                .endDate(start.plusHours(4))
+                .location("Load test")
+                .status(Event.EventStatus.PUBLISHED)
+                .maxAttendees(ticketCount)
+                .ticketPrice(100.0)
+                .organizer(organizer)
+                .build());
+        ticketRepository.save(Ticket.builder()
+                .event(event)
+                .eventName(event.getName())
+                .maxTickets(ticketCount)
+                .ticketsLeft(ticketCount)
+                .build());
+        context.getBean(TicketInventory.class).track(event.getId(), ticketCount);
+        return event.getId();
+    }
+}
@@ -0,0 +1,59 @@
+package com.eventmanagement.loadtest;
+
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.JwtUtil;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers shared by the load-test harnesses: --key=value options, latency percentiles
+ * and attendee accounts with ready-made tokens.
+ */
+final class LoadTestSupport {
+
+    private LoadTestSupport() {
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    /** The p-th percentile of sorted nanosecond latencies, in milliseconds. */
+    static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    /** Saves {@code count} attendees ({emailPrefix}-{i}@example.com) and returns a JWT for each. */
+    static List<String> seedAttendees(ConfigurableApplicationContext context, String emailPrefix, int count) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .firstName("Attendee")
+                    .lastName(String.valueOf(i))
+                    .email(emailPrefix + "-" + i + "@example.com")
+                    .role(User.UserRole.ATTENDEE)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        List<String> tokens = new ArrayList<>(count);
+        for (User user : users) {
+            tokens.add(jwtUtil.generateToken(user.getEmail(), user.getRole().name()));
+        }
+        return tokens;
+    }
+}
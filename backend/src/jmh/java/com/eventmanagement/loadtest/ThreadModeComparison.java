@@ -0,0 +1,195 @@
+package com.eventmanagement.loadtest;
+
+import com.eventmanagement.EventManagementApplication;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the same load against the app twice, first on Tomcat's platform thread pool and
+ * then with {@code spring.threads.virtual.enabled=true}, and prints throughput and
+ * latency for GET /events and POST /registrations in each mode. Virtual threads need
+ * a Java 21+ runtime; on older runtimes only the platform run is made.
+ * Uses an embedded H2 database unless --jdbc-url points at a real MySQL instance
+ * (blocking on a real database is where the two modes differ most).
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec \
+ *     -Dbench.main=com.eventmanagement.loadtest.ThreadModeComparison \
+ *     -Dbench.args="--requests=20000 --concurrency=1000 --platform-threads=200 --db-limiter=true"
+ * </pre>
+ */
+public class ThreadModeComparison {
+
+    private static final int EVENTS = 50;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parse(args);
+        List<String> modes = new ArrayList<>(List.of("platform"));
+        if (Runtime.version().feature() >= 21) {
+            modes.add("virtual");
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": virtual threads need 21+, running platform mode only");
+        }
+        for (String mode : modes) {
+            run(mode, options);
+        }
+        System.exit(0);
+    }
+
+    private static void run(String mode, Map<String, String> options) throws Exception {
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+
+        Map<String, Object> properties = new HashMap<>();
+        // No application.yml: everything the app needs for this run is set here
+        properties.put("spring.config.name", "thread-mode");
+        properties.put("spring.datasource.url", options.getOrDefault("jdbc-url",
+                "jdbc:h2:mem:threadmode_" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        properties.put("spring.datasource.username", options.getOrDefault("db-user", "sa"));
+        properties.put("spring.datasource.password", options.getOrDefault("db-password", ""));
+        properties.put("spring.datasource.hikari.maximum-pool-size", options.getOrDefault("pool-size", "10"));
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("server.port", "0");
+        properties.put("server.servlet.context-path", "/api");
+        properties.put("server.tomcat.threads.max", options.getOrDefault("platform-threads", "200"));
+        properties.put("spring.threads.virtual.enabled", String.valueOf("virtual".equals(mode)));
+        properties.put("app.db-limiter.enabled", options.getOrDefault("db-limiter", "false"));
+        properties.put("logging.level.root", "WARN");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .properties(properties)
+                .run();
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> eventIds = seedEvents(context, requests);
+            List<String> tokens = LoadTestSupport.seedAttendees(context, "threadmode", requests);
+            String base = "http://localhost:" + port + "/api";
+
+            System.out.printf("mode=%s requests=%d concurrency=%d%n", mode, requests, concurrency);
+            report("GET /events", load(requests, concurrency, i -> HttpRequest.newBuilder(URI.create(base + "/events"))
+                    .header("Authorization", "Bearer " + tokens.get(i))
+                    .GET()
+                    .build()));
+            report("POST /registrations", load(requests, concurrency, i -> HttpRequest.newBuilder(URI.create(base + "/registrations"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + tokens.get(i))
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"eventId\":" + eventIds.get(i % eventIds.size()) + ",\"numberOfTickets\":1}"))
+                    .build()));
+        } finally {
+            context.close();
+        }
+    }
+
+    private record Result(long[] latencies, long wallNanos, int ok, int failed) {
+    }
+
+    private static Result load(int requests, int concurrency, IntFunction<HttpRequest> requestFor) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(workers)
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            final int index = i;
+            workers.execute(() -> {
+                try {
+                    start.await();
+                    long t0 = System.nanoTime();
+                    HttpResponse<Void> response = client.send(requestFor.apply(index), HttpResponse.BodyHandlers.discarding());
+                    latencies[index] = System.nanoTime() - t0;
+                    if (response.statusCode() < 300) {
+                        ok.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                } catch (Exception ex) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long wallStart = System.nanoTime();
+        start.countDown();
+        done.await();
+        long wallNanos = System.nanoTime() - wallStart;
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+        Arrays.sort(latencies);
+        return new Result(latencies, wallNanos, ok.get(), failed.get());
+    }
+
+    private static void report(String name, Result result) {
+        long[] latencies = result.latencies();
+        System.out.printf("  %-20s ok=%d failed=%d throughput=%.1f req/s p50=%.2f p99=%.2f max=%.2f ms%n",
+                name, result.ok(), result.failed(), latencies.length / (result.wallNanos() / 1e9),
+                LoadTestSupport.percentile(latencies, 0.50), LoadTestSupport.percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static List<Long> seedEvents(ConfigurableApplicationContext context, int totalTickets) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        TicketRepository ticketRepository = context.getBean(TicketRepository.class);
+        User organizer = userRepository.save(User.builder()
+                .firstName("Load").lastName("Organizer")
+                .email("threadmode-organizer@eventhub.com")
+                .role(User.UserRole.ORGANIZER)
+                .build());
+        int perEvent = totalTickets / EVENTS + 1;
+        List<Long> ids = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            LocalDateTime start = LocalDateTime.now().plusDays(30 + i);
+            Event event = eventRepository.save(Event.builder()
+                    .name("Thread Mode Event " + i)
+                    .startDate(start)
+                    .endDate(start.plusHours(4))
+                    .location("Load test")
+                    .status(Event.EventStatus.PUBLISHED)
+                    .maxAttendees(perEvent)
+                    .ticketPrice(50.0)
+                    .organizer(organizer)
+                    .build());
+            ticketRepository.save(Ticket.builder()
+                    .event(event)
+                    .eventName(event.getName())
+                    .maxTickets(perEvent)
+                    .ticketsLeft(perEvent)
+                    .build());
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventmanagement.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification as done on login and by JwtAuthFilter on a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret",
+                "event-management-secret-key-min-256-bits-required-for-hs256-algorithm");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 86400000L);
+        token = jwtUtil.generateToken("john@example.com", "ATTENDEE");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("john@example.com", "ATTENDEE");
+    }
+
+    @Benchmark
+    public Object parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+}
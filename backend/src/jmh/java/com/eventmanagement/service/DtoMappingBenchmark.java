@@ -0,0 +1,79 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.dto.RegistrationDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Registration;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.objenesis.ObjenesisStd;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping cost, without any repository access. Services are
+ * instantiated without their dependencies since the mappers don't use them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private EventService eventService;
+    private RegistrationService registrationService;
+    private Event event;
+    private Registration registration;
+
+    @Setup
+    public void setup() {
+        ObjenesisStd objenesis = new ObjenesisStd();
+        eventService = objenesis.newInstance(EventService.class);
+        registrationService = objenesis.newInstance(RegistrationService.class);
+
+        User organizer = User.builder().id(1L).firstName("Riya").lastName("Sharma")
+                .email("organizer@eventhub.com").role(User.UserRole.ORGANIZER).build();
+        User attendee = User.builder().id(2L).firstName("John").lastName("Doe")
+                .email("john@example.com").role(User.UserRole.ATTENDEE).build();
+        Venue venue = Venue.builder().id(1L).name("Grand Convention Hall").capacity(500).build();
+        LocalDateTime start = LocalDateTime.now().plusDays(14);
+        event = Event.builder()
+                .id(10L)
+                .name("Annual Tech Summit")
+                .description("Keynotes, workshops, and networking.")
+                .startDate(start)
+                .endDate(start.plusHours(9))
+                .location("123 Main Street, Mumbai, Maharashtra")
+                .status(Event.EventStatus.PUBLISHED)
+                .maxAttendees(500)
+                .ticketPrice(1499.0)
+                .venue(venue)
+                .organizer(organizer)
+                .build();
+        registration = Registration.builder()
+                .id(100L)
+                .event(event)
+                .user(attendee)
+                .numberOfTickets(2)
+                .ticketCode("EVT-10-ABCDEF12")
+                .paymentStatus(Registration.PaymentStatus.COMPLETED)
+                .build();
+    }
+
+    @Benchmark
+    public EventDTO eventToDTO() {
+        return eventService.toDTO(event, 420);
+    }
+
+    @Benchmark
+    public RegistrationDTO registrationToDTO() {
+        return registrationService.toDTO(registration);
+    }
+}
@@ -0,0 +1,74 @@
+package com.eventmanagement.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticket code generation, UUID-based (the original) vs compact, single-threaded and
+ * with 8 threads sharing one generator, plus the validation done before a check-in lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketCodeBenchmark {
+
+    private static final Long EVENT_ID = 1234L;
+
+    private UuidTicketCodeGenerator uuid;
+    private CompactTicketCodeGenerator compact;
+    private TicketCodes ticketCodes;
+    private String compactCode;
+    private String mistypedCode;
+
+    @Setup
+    public void setup() {
+        uuid = new UuidTicketCodeGenerator();
+        compact = new CompactTicketCodeGenerator(1, System::currentTimeMillis);
+        ticketCodes = new TicketCodes(List.of(compact, uuid), "compact");
+        compactCode = compact.next(EVENT_ID);
+        char[] chars = compactCode.toCharArray();
+        chars[chars.length - 3] = chars[chars.length - 3] == 'A' ? 'B' : 'A';
+        mistypedCode = new String(chars);
+    }
+
+    @Benchmark
+    public String uuidNext() {
+        return uuid.next(EVENT_ID);
+    }
+
+    @Benchmark
+    public String compactNext() {
+        return compact.next(EVENT_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidNextContended() {
+        return uuid.next(EVENT_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String compactNextContended() {
+        return compact.next(EVENT_ID);
+    }
+
+    @Benchmark
+    public boolean validateCompact() {
+        return ticketCodes.isWellFormed(compactCode);
+    }
+
+    @Benchmark
+    public boolean validateMistyped() {
+        return ticketCodes.isWellFormed(mistypedCode);
+    }
+}
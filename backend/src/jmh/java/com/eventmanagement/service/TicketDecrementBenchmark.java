@@ -0,0 +1,108 @@
+package com.eventmanagement.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticket decrement on a single hot event: the conditional UPDATE issued by
+ * TicketRepository.decrementTickets on an embedded H2 (MySQL mode) database,
+ * against the striped counter used by TicketInventory in memory mode.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class TicketDecrementBenchmark {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:tickets;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final int STOCK = Integer.MAX_VALUE / 2;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private Connection admin;
+
+        @Setup(Level.Trial)
+        public void createSchema() throws SQLException {
+            admin = DriverManager.getConnection(JDBC_URL);
+            try (Statement st = admin.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS tickets (id BIGINT PRIMARY KEY, event_id BIGINT NOT NULL UNIQUE, "
+                        + "event_name VARCHAR(255) NOT NULL, max_tickets INT NOT NULL, tickets_left INT NOT NULL)");
+                st.execute("MERGE INTO tickets KEY (id) VALUES (1, 1, 'Hot event', " + STOCK + ", " + STOCK + ")");
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void refill() throws SQLException {
+            try (Statement st = admin.createStatement()) {
+                st.execute("UPDATE tickets SET tickets_left = " + STOCK + " WHERE event_id = 1");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            admin.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement decrement;
+
+        @Setup(Level.Trial)
+        public void open(Database database) throws SQLException {
+            connection = DriverManager.getConnection(JDBC_URL);
+            connection.setAutoCommit(false);
+            decrement = connection.prepareStatement(
+                    "UPDATE tickets SET tickets_left = tickets_left - ? WHERE event_id = ? AND tickets_left >= ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            decrement.close();
+            connection.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Memory {
+
+        private TicketInventory.StripedCounter counter;
+
+        @Setup(Level.Iteration)
+        public void refill() {
+            counter = new TicketInventory.StripedCounter(8, STOCK);
+        }
+    }
+
+    @Benchmark
+    public int databaseDecrement(Session session) throws SQLException {
+        session.decrement.setInt(1, 1);
+        session.decrement.setLong(2, 1L);
+        session.decrement.setInt(3, 1);
+        int updated = session.decrement.executeUpdate();
+        session.connection.commit();
+        return updated;
+    }
+
+    @Benchmark
+    public boolean inMemoryReserve(Memory memory) {
+        return memory.counter.tryTake(1);
+    }
+}
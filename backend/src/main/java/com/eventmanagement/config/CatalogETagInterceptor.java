@@ -0,0 +1,81 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.security.SecurityUtils;
+import com.eventmanagement.service.CatalogVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Conditional GET for the event and venue catalogs. The ETag is built from CatalogVersions
+ * before the controller runs, so a matching If-None-Match (or If-Modified-Since) is
+ * answered with 304 without touching the service, the database or the serializer.
+ * Listings also key on the viewer, since admins, organizers and attendees see different
+ * events under the same URL.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersions catalogVersions;
+    private final SecurityUtils securityUtils;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String etag;
+        long lastModified;
+        if ("/events".equals(pattern)) {
+            lastModified = catalogVersions.events();
+            etag = "e" + Long.toHexString(lastModified) + "-" + viewer();
+        } else if ("/events/{id}".equals(pattern)) {
+            Long id = pathId(request);
+            if (id == null) return true;
+            lastModified = catalogVersions.event(id);
+            etag = "e" + id + "-" + Long.toHexString(lastModified);
+        } else if ("/venues".equals(pattern) || "/venues/{id}".equals(pattern)) {
+            lastModified = catalogVersions.venues();
+            etag = "v" + Long.toHexString(lastModified);
+        } else {
+            return true;
+        }
+        // Every client must revalidate, and the copy must not be shared across users
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        // Last-Modified has one-second resolution: leave it out while the stamp's second is
+        // still current, or a second write in that second would look unmodified
+        boolean settled = System.currentTimeMillis() - lastModified >= 1000;
+        return settled
+                ? !webRequest.checkNotModified('"' + etag + '"', lastModified)
+                : !webRequest.checkNotModified('"' + etag + '"');
+    }
+
+    private String viewer() {
+        Long userId = securityUtils.getCurrentUserId();
+        String role = securityUtils.isAdmin() ? "a" : securityUtils.isOrganizer() ? "o" : "u";
+        return role + (userId != null ? Long.toHexString(userId) : "0");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long pathId(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables != null ? variables.get("id") : null;
+        if (id == null) return null;
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.eventmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many threads may hold a JDBC connection at once ({@code app.db-limiter.enabled}).
+ * With virtual threads every request gets its own thread, so thousands can reach the
+ * Hikari pool together; here they queue on a fair semaphore instead and give up after
+ * {@code acquire-timeout-ms} with a SQLTransientConnectionException (answered as 503).
+ * A permit is held from getConnection until the connection is closed.
+ */
+@Slf4j
+@Component
+public class DbConcurrencyLimiter implements BeanPostProcessor {
+
+    private final boolean enabled;
+    private final int permits;
+    private final long acquireTimeoutMs;
+
+    public DbConcurrencyLimiter(@Value("${app.db-limiter.enabled:false}") boolean enabled,
+                                @Value("${app.db-limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                                @Value("${app.db-limiter.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.enabled = enabled;
+        this.permits = Math.max(1, permits);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+            log.info("Limiting data source '{}' to {} concurrent connections", beanName, permits);
+            return new LimitedDataSource(dataSource, new Semaphore(permits, true), acquireTimeoutMs);
+        }
+        return bean;
+    }
+
+    static final class LimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final long acquireTimeoutMs;
+
+        LimitedDataSource(DataSource target, Semaphore permits, long acquireTimeoutMs) {
+            super(target);
+            this.permits = permits;
+            this.acquireTimeoutMs = acquireTimeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return releaseOnClose(super.getConnection());
+            } catch (SQLException | RuntimeException ex) {
+                permits.release();
+                throw ex;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return releaseOnClose(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException ex) {
+                permits.release();
+                throw ex;
+            }
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "Database busy: no connection permit within " + acquireTimeoutMs + " ms");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", ex);
+            }
+        }
+
+        private Connection releaseOnClose(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                permits.release();
+                            }
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+}
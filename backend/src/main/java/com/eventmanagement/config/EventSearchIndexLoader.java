@@ -0,0 +1,47 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.service.EventSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the in-memory event search index at startup (index mode only).
+ * Events are read in id-ordered chunks so the whole table is never held at once.
+ */
+@Slf4j
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class EventSearchIndexLoader implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EventSearchIndex eventSearchIndex;
+    private final EventRepository eventRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!eventSearchIndex.isEnabled()) {
+            return;
+        }
+        long lastId = 0;
+        List<Event> chunk;
+        do {
+            chunk = eventRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, CHUNK_SIZE));
+            for (Event event : chunk) {
+                eventSearchIndex.index(event);
+                lastId = event.getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        log.info("Event search index built for {} events.", eventSearchIndex.size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.service.InvoiceJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks up invoice jobs that were still running when the previous process stopped,
+ * from their last checkpoint ({@code app.invoice-job.resume-on-startup}).
+ */
+@Slf4j
+@Component
+@Order(5)
+public class InvoiceJobResumer implements ApplicationRunner {
+
+    private final InvoiceJobService invoiceJobService;
+    private final boolean enabled;
+
+    public InvoiceJobResumer(InvoiceJobService invoiceJobService,
+                             @Value("${app.invoice-job.resume-on-startup:true}") boolean enabled) {
+        this.invoiceJobService = invoiceJobService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        int resumed = invoiceJobService.resumeInterrupted();
+        if (resumed > 0) {
+            log.info("Resumed {} interrupted invoice jobs.", resumed);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.security.AuthenticatedPrincipalCache;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Metrics not covered by Actuator's own binders. Hikari's active, idle and pending
+ * connection gauges come from Actuator; this adds their ratio to the pool size, the
+ * one number to alert on when the pool saturates. The JWT principal cache reports its
+ * hits and misses as app.jwt.principal.cache{result}.
+ */
+@Slf4j
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder hikariSaturation(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari;
+            try {
+                // Unwraps through DbConcurrencyLimiter's wrapper as well
+                hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+            } catch (SQLException ex) {
+                hikari = null;
+            }
+            if (hikari == null) {
+                log.info("DataSource is not a Hikari pool; no saturation gauge");
+                return;
+            }
+            HikariDataSource pool = hikari;
+            Gauge.builder("hikaricp.connections.saturation", pool, MetricsConfig::saturation)
+                    .description("Active connections as a fraction of the maximum pool size")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder principalCacheMetrics(AuthenticatedPrincipalCache principalCache) {
+        return registry -> {
+            FunctionCounter.builder("app.jwt.principal.cache", principalCache, AuthenticatedPrincipalCache::getHitCount)
+                    .description("JWT principal cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("app.jwt.principal.cache", principalCache, AuthenticatedPrincipalCache::getMissCount)
+                    .description("JWT principal cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean == null || pool.getMaximumPoolSize() <= 0) {
+            return 0;
+        }
+        return (double) bean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
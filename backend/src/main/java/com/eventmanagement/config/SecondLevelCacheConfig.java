@@ -0,0 +1,76 @@
+package com.eventmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for Venue and Event ({@code app.cache.enabled}).
+ * Each region is a Caffeine cache with its own size limit and a TTL as a safety net;
+ * READ_WRITE regions are updated or evicted by Hibernate whenever VenueService or
+ * EventService change an entity. Statistics are on while caching is, for the
+ * per-region hit ratio at GET /dashboard/cache. The caches are local to each
+ * instance, so enable this only when a single instance writes venues and events.
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Region names used in the entities' @Cache annotations. */
+    public static final String[] REGIONS = {"venue", "event"};
+
+    private final boolean enabled;
+    private final long venueMaxSize;
+    private final long eventMaxSize;
+    private final long ttlSeconds;
+
+    public SecondLevelCacheConfig(@Value("${app.cache.enabled:false}") boolean enabled,
+                                  @Value("${app.cache.venue.max-size:1000}") long venueMaxSize,
+                                  @Value("${app.cache.event.max-size:10000}") long eventMaxSize,
+                                  @Value("${app.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.venueMaxSize = venueMaxSize;
+        this.eventMaxSize = eventMaxSize;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            // Set explicitly either way: with hibernate-jcache on the classpath Hibernate would
+            // otherwise turn the cache on by itself, with unbounded default regions
+            properties.put("hibernate.cache.use_second_level_cache", enabled);
+            properties.put("hibernate.cache.use_query_cache", false);
+            if (!enabled) return;
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", createCacheManager());
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("hibernate.generate_statistics", true);
+        };
+    }
+
+    private CacheManager createCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache("venue", region(venueMaxSize));
+        cacheManager.createCache("event", region(eventMaxSize));
+        log.info("Second-level cache enabled: venue={} event={} entries, ttl={}s", venueMaxSize, eventMaxSize, ttlSeconds);
+        return cacheManager;
+    }
+
+    private CaffeineConfiguration<Object, Object> region(long maxSize) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public method of the core services as {@code app.service{class, method, exception}},
+ * with a percentile histogram so latency quantiles can be computed per operation in Prometheus.
+ * Only calls that go through the Spring proxy are timed, so calls within a service count
+ * towards the outer method. Each (method, exception) timer is built and registered once.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    /**
+     * Keyed by the Method, since Spring AOP hands out a new signature object per call.
+     * {@code exception} is null for calls that returned normally.
+     */
+    private record TimerKey(Method method, Class<? extends Throwable> exception) {
+    }
+
+    private final MeterRegistry registry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.eventmanagement.service.EventService.*(..))"
+            + " || execution(public * com.eventmanagement.service.RegistrationService.*(..))"
+            + " || execution(public * com.eventmanagement.service.VenueService.*(..))"
+            + " || execution(public * com.eventmanagement.service.UserService.*(..))"
+            + " || execution(public * com.eventmanagement.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        Class<? extends Throwable> exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass();
+            throw ex;
+        } finally {
+            sample.stop(timers.computeIfAbsent(new TimerKey(((MethodSignature) joinPoint.getSignature()).getMethod(), exception), this::register));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder("app.service")
+                .description("Service method latency")
+                .tag("class", key.method().getDeclaringClass().getSimpleName())
+                .tag("method", key.method().getName())
+                .tag("exception", key.exception() != null ? key.exception().getSimpleName() : "none")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
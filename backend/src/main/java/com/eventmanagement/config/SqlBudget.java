@@ -0,0 +1,17 @@
+package com.eventmanagement.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to the annotated endpoint may run, checked by
+ * SqlBudgetFilter on sampled requests. Endpoints without it get
+ * {@code app.sql-budget.default-max}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
@@ -0,0 +1,116 @@
+package com.eventmanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the SQL statements of a sampled share of requests ({@code app.sql-budget.sample-rate})
+ * and records them per endpoint as {@code app.sql.statements{method, endpoint}}. A request
+ * over its {@link SqlBudget} is logged with the statement shape it repeated most, which
+ * is the usual signature of an N+1; with {@code app.sql-budget.mode=fail} (for tests) it
+ * also fails the request. Runs ahead of Spring Security so token checks are counted too.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    /** Thrown in fail mode when a request runs more statements than its budget. */
+    public static class SqlBudgetExceededException extends RuntimeException {
+        public SqlBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final double sampleRate;
+    private final int defaultMax;
+    private final boolean fail;
+
+    public SqlBudgetFilter(MeterRegistry registry,
+                           @Value("${app.sql-budget.sample-rate:0}") double sampleRate,
+                           @Value("${app.sql-budget.default-max:20}") int defaultMax,
+                           @Value("${app.sql-budget.mode:warn}") String mode) {
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+        this.defaultMax = defaultMax;
+        this.fail = "fail".equalsIgnoreCase(mode);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        SqlStatementCounter.begin();
+        SqlStatementCounter.Tally tally;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tally = SqlStatementCounter.end();
+        }
+        check(request, tally);
+    }
+
+    private void check(HttpServletRequest request, SqlStatementCounter.Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (tally == null || pattern == null) {
+            return;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        DistributionSummary.builder("app.sql.statements")
+                .description("SQL statements per request (sampled)")
+                .tag("method", request.getMethod())
+                .tag("endpoint", pattern.toString())
+                .register(registry)
+                .record(tally.total());
+
+        int budget = budget(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        if (tally.total() <= budget) {
+            return;
+        }
+        Map.Entry<String, Integer> repeated = tally.mostRepeated();
+        String message = String.format("%s ran %d SQL statements (budget %d); most repeated (%dx): %s",
+                endpoint, tally.total(), budget,
+                repeated != null ? repeated.getValue() : 0,
+                repeated != null ? repeated.getKey() : "-");
+        log.warn(message);
+        if (fail) {
+            throw new SqlBudgetExceededException(message);
+        }
+    }
+
+    private int budget(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+            if (budget == null) {
+                budget = method.getBeanType().getAnnotation(SqlBudget.class);
+            }
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultMax;
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventmanagement.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, grouped by shape
+ * (the statement with literals and IN lists collapsed), while SqlBudgetFilter has a
+ * request open. Threads without an open request pay one ThreadLocal read per statement.
+ * JdbcTemplate batches (import, async booking) bypass Hibernate and are not counted.
+ */
+@Configuration
+public class SqlStatementCounter implements StatementInspector {
+
+    /** Distinct shapes kept per request; anything beyond only adds to the total. */
+    private static final int MAX_SHAPES = 200;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    /** Statements seen during one request. */
+    public static final class Tally {
+        private int total;
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        public int total() {
+            return total;
+        }
+
+        /** The shape run most often, with its count, or null if nothing ran. */
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", this);
+    }
+
+    static void begin() {
+        CURRENT.set(new Tally());
+    }
+
+    static Tally end() {
+        Tally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.total++;
+            String shape = shape(sql);
+            if (tally.shapes.size() < MAX_SHAPES || tally.shapes.containsKey(shape)) {
+                tally.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+        return sql;
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
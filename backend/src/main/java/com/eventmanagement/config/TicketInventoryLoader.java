@@ -0,0 +1,55 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.service.TicketInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the in-memory ticket inventory at startup (memory mode only).
+ * Tickets left are recomputed as maxTickets minus booked tickets, because the
+ * tickets_left column is written behind and may lag after a crash.
+ */
+@Slf4j
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class TicketInventoryLoader implements ApplicationRunner {
+
+    private final TicketInventory ticketInventory;
+    private final TicketRepository ticketRepository;
+    private final RegistrationRepository registrationRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (!ticketInventory.isEnabled()) {
+            return;
+        }
+        Map<Long, Long> booked = new HashMap<>();
+        for (Object[] row : registrationRepository.sumTicketsGroupedByEvent()) {
+            booked.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        List<Ticket> tickets = ticketRepository.findAll();
+        for (Ticket ticket : tickets) {
+            Long eventId = ticket.getEvent().getId();
+            int left = (int) Math.max(0, ticket.getMaxTickets() - booked.getOrDefault(eventId, 0L));
+            if (left != ticket.getTicketsLeft()) {
+                ticket.setTicketsLeft(left);
+            }
+            ticketInventory.track(eventId, left);
+        }
+        log.info("Ticket inventory loaded for {} events.", tickets.size());
+    }
+}
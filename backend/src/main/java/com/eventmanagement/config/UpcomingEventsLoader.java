@@ -0,0 +1,47 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.service.EventService;
+import com.eventmanagement.service.UpcomingEventsFeed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the upcoming-events feed at startup (memory mode only) and rebuilds it whenever
+ * a change marked it stale; until then GET /events/upcoming reads from the database.
+ */
+@Slf4j
+@Component
+@Order(6)
+@RequiredArgsConstructor
+public class UpcomingEventsLoader implements ApplicationRunner {
+
+    private final UpcomingEventsFeed upcomingEventsFeed;
+    private final EventService eventService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuildIfStale();
+    }
+
+    @Scheduled(fixedDelayString = "${app.upcoming.rebuild-check-ms:1000}")
+    public void rebuildIfStale() {
+        if (!upcomingEventsFeed.isStale()) {
+            return;
+        }
+        long token = upcomingEventsFeed.beginRebuild();
+        List<EventDTO> events = eventService.findAllUpcoming();
+        if (upcomingEventsFeed.replace(events, token)) {
+            log.info("Upcoming events feed loaded with {} events.", events.size());
+        } else {
+            log.debug("Upcoming events feed changed during rebuild; retrying.");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.service.VenueSchedule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Loads every venue's booked slots into the in-memory schedule at startup (memory mode only).
+ */
+@Slf4j
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class VenueScheduleLoader implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final VenueSchedule venueSchedule;
+    private final EventRepository eventRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!venueSchedule.isEnabled()) {
+            return;
+        }
+        long lastId = 0;
+        int loaded = 0;
+        List<Event> chunk;
+        do {
+            chunk = eventRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, CHUNK_SIZE));
+            for (Event event : chunk) {
+                venueSchedule.put(event);
+                lastId = event.getId();
+                loaded++;
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        log.info("Venue schedule loaded from {} events.", loaded);
+    }
+}
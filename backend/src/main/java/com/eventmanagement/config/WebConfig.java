@@ -0,0 +1,32 @@
+package com.eventmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * MVC interceptors. Catalog ETags are opt-in ({@code app.http-cache.enabled}) because the
+ * versions live in memory: with several instances, one instance never sees the writes
+ * made on another and would keep answering 304 for data that has changed.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogETagInterceptor catalogETagInterceptor;
+    private final boolean httpCacheEnabled;
+
+    public WebConfig(CatalogETagInterceptor catalogETagInterceptor,
+                     @Value("${app.http-cache.enabled:false}") boolean httpCacheEnabled) {
+        this.catalogETagInterceptor = catalogETagInterceptor;
+        this.httpCacheEnabled = httpCacheEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (httpCacheEnabled) {
+            registry.addInterceptor(catalogETagInterceptor)
+                    .addPathPatterns("/events", "/events/*", "/venues", "/venues/*");
+        }
+    }
+}
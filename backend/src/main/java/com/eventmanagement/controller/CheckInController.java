@@ -0,0 +1,30 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.CheckInDTO;
+import com.eventmanagement.service.CheckInService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/events/{eventId}/check-in")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class CheckInController {
+
+    private final CheckInService checkInService;
+
+    /** Loads the event's ticket codes into memory before doors open; returns how many were loaded. */
+    @PostMapping("/preload")
+    public ResponseEntity<Integer> preload(@PathVariable Long eventId) {
+        return ResponseEntity.ok(checkInService.preload(eventId));
+    }
+
+    @PostMapping
+    public ResponseEntity<CheckInDTO> checkIn(
+            @PathVariable Long eventId,
+            @Valid @RequestBody CheckInDTO request) {
+        return ResponseEntity.ok(checkInService.checkIn(eventId, request.getTicketCode()));
+    }
+}
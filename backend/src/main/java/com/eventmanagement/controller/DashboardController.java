@@ -1,11 +1,14 @@
 package com.eventmanagement.controller;
 
+import com.eventmanagement.dto.CacheStatsDTO;
 import com.eventmanagement.dto.DashboardStatsDTO;
 import com.eventmanagement.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/dashboard")
 @RequiredArgsConstructor
@@ -18,4 +21,9 @@ public class DashboardController {
     public ResponseEntity<DashboardStatsDTO> getStats() {
         return ResponseEntity.ok(dashboardService.getStats());
     }
+
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(dashboardService.getCacheStats());
+    }
 }
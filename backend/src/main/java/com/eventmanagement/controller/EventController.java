@@ -4,15 +4,24 @@ package com.eventmanagement.controller;
 // Member 5: Event REST controller - API endpoints
 // ============================================
 
+import com.eventmanagement.config.SqlBudget;
 import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.dto.ImportResultDTO;
+import com.eventmanagement.dto.PageDTO;
 import com.eventmanagement.entity.Event.EventStatus;
+import com.eventmanagement.service.AttendeeExportService;
+import com.eventmanagement.service.EventImportService;
 import com.eventmanagement.service.EventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -22,19 +31,17 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
+    private final AttendeeExportService attendeeExportService;
 
     @GetMapping
+    @SqlBudget(4)
     public ResponseEntity<List<EventDTO>> getAllEvents(
             @RequestParam(required = false) EventStatus status,
             @RequestParam(required = false) String search) {
         List<EventDTO> events;
         if (search != null && !search.isBlank()) {
-            events = eventService.searchByName(search.trim());
-            if (status != null) {
-                events = events.stream()
-                        .filter(e -> e.getStatus() == status)
-                        .toList();
-            }
+            events = eventService.searchByName(search.trim(), status);
         } else if (status != null) {
             events = eventService.findByStatus(status);
         } else {
@@ -43,7 +50,18 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /** Keyset-paginated listing; pass the returned nextCursor to get the following page. */
+    @GetMapping("/page")
+    public ResponseEntity<PageDTO<EventDTO>> getEventsPage(
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(eventService.findPage(status, search, cursor, limit));
+    }
+
     @GetMapping("/upcoming")
+    @SqlBudget(3)
     public ResponseEntity<List<EventDTO>> getUpcoming(
             @RequestParam(defaultValue = "5") int limit) {
         return ResponseEntity.ok(eventService.findUpcoming(Math.min(limit, 20)));
@@ -55,16 +73,41 @@ public class EventController {
     }
 
     @GetMapping("/{id}")
+    @SqlBudget(5)
     public ResponseEntity<EventDTO> getEventById(@PathVariable Long id) {
         return ResponseEntity.ok(eventService.findById(id));
     }
 
+    /** Full attendee roster as CSV (default) or NDJSON, streamed row by row. Organizer or admin only. */
+    @GetMapping("/{id}/attendees/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        attendeeExportService.checkAccess(id);
+        StreamingResponseBody body = out -> attendeeExportService.write(id, ndjson, out);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"event-" + id + "-attendees." + (ndjson ? "ndjson" : "csv") + "\"")
+                .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<EventDTO> createEvent(@Valid @RequestBody EventDTO eventDTO) {
         EventDTO created = eventService.create(eventDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /** Bulk create from a CSV (header row required) or NDJSON body; failed rows are listed in the result. */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResultDTO> importEvents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        boolean ndjson = contentType.startsWith("application/x-ndjson");
+        return ResponseEntity.ok(eventImportService.importEvents(body, ndjson));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<EventDTO> updateEvent(
             @PathVariable Long id,
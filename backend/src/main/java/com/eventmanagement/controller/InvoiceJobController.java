@@ -0,0 +1,53 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.InvoiceJobDTO;
+import com.eventmanagement.service.InvoiceJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+/** Bulk invoice jobs for finance (admin only). */
+@RestController
+@RequestMapping("/invoices/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class InvoiceJobController {
+
+    private final InvoiceJobService invoiceJobService;
+
+    /** Starts a job for an event, a month of bookings (yyyy-MM) or both; poll the returned id. */
+    @PostMapping
+    public ResponseEntity<InvoiceJobDTO> start(
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) String month) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(invoiceJobService.start(eventId, month));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<InvoiceJobDTO> get(@PathVariable String id) {
+        return ResponseEntity.ok(invoiceJobService.get(id));
+    }
+
+    /** Continues a failed or interrupted job from its last checkpoint. */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<InvoiceJobDTO> resume(@PathVariable String id) {
+        return ResponseEntity.ok(invoiceJobService.resume(id));
+    }
+
+    /** The completed job's invoices, one JSON object per line. */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> download(@PathVariable String id) {
+        Path file = invoiceJobService.output(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"invoices-" + file.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+}
@@ -1,9 +1,16 @@
 package com.eventmanagement.controller;
 
+import com.eventmanagement.config.SqlBudget;
 import com.eventmanagement.dto.BookRequest;
+import com.eventmanagement.dto.BookingStatusDTO;
 import com.eventmanagement.dto.InvoiceDTO;
+import com.eventmanagement.dto.PageDTO;
 import com.eventmanagement.dto.RegistrationDTO;
+import com.eventmanagement.dto.WaitlistDTO;
+import com.eventmanagement.service.BookingPipeline;
+import com.eventmanagement.service.IdempotencyService;
 import com.eventmanagement.service.RegistrationService;
+import com.eventmanagement.service.WaitlistService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -11,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/registrations")
@@ -18,19 +26,72 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class RegistrationController {
 
+    /** Longest a status request may wait for its booking to be decided. */
+    private static final long MAX_WAIT_MS = 25_000;
+
     private final RegistrationService registrationService;
+    private final BookingPipeline bookingPipeline;
+    private final WaitlistService waitlistService;
+    private final IdempotencyService idempotencyService;
 
+    /** With an Idempotency-Key header, retries of the same booking get the first response again. */
     @PostMapping
-    public ResponseEntity<RegistrationDTO> book(@Valid @RequestBody BookRequest request) {
-        RegistrationDTO created = registrationService.book(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    @SqlBudget(10)
+    public ResponseEntity<?> book(@Valid @RequestBody BookRequest request,
+                                  @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, request, () -> {
+            if (bookingPipeline.isEnabled()) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(bookingPipeline.submit(request));
+            }
+            RegistrationDTO created = registrationService.book(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        });
+    }
+
+    /** Outcome of a queued booking (async booking mode); waits up to waitMs while it is pending. */
+    @GetMapping("/requests/{handle}")
+    public CompletableFuture<BookingStatusDTO> getBookingStatus(
+            @PathVariable String handle,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        return bookingPipeline.status(handle, Math.min(Math.max(0, waitMs), MAX_WAIT_MS));
+    }
+
+    /** Queues the current user for a sold-out event; they are booked in turn as tickets return. */
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistDTO> joinWaitlist(@Valid @RequestBody BookRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(request));
+    }
+
+    @GetMapping("/waitlist/{eventId}")
+    public ResponseEntity<WaitlistDTO> getWaitlistStatus(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitlistService.status(eventId));
+    }
+
+    @DeleteMapping("/waitlist/{eventId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long eventId) {
+        waitlistService.leave(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable Long id) {
+        registrationService.cancel(id);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/my-bookings")
+    @SqlBudget(3)
     public ResponseEntity<List<RegistrationDTO>> getMyBookings() {
         return ResponseEntity.ok(registrationService.getMyBookings());
     }
 
+    @GetMapping("/my-bookings/page")
+    public ResponseEntity<PageDTO<RegistrationDTO>> getMyBookingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(registrationService.getMyBookingsPage(cursor, limit));
+    }
+
     @GetMapping("/{id}/invoice")
     public ResponseEntity<InvoiceDTO> getInvoice(@PathVariable Long id) {
         return ResponseEntity.ok(registrationService.getInvoice(id));
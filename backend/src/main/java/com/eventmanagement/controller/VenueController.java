@@ -4,6 +4,8 @@ package com.eventmanagement.controller;
 // Member 5: Venue REST controller - API endpoints
 // ============================================
 
+import com.eventmanagement.config.SqlBudget;
+import com.eventmanagement.dto.ScheduleSlotDTO;
 import com.eventmanagement.dto.VenueDTO;
 import com.eventmanagement.service.VenueService;
 import jakarta.validation.Valid;
@@ -23,6 +25,7 @@ public class VenueController {
     private final VenueService venueService;
 
     @GetMapping
+    @SqlBudget(2)
     public ResponseEntity<List<VenueDTO>> getAllVenues(
             @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
         List<VenueDTO> venues = activeOnly
@@ -32,10 +35,19 @@ public class VenueController {
     }
 
     @GetMapping("/{id}")
+    @SqlBudget(2)
     public ResponseEntity<VenueDTO> getVenueById(@PathVariable Long id) {
         return ResponseEntity.ok(venueService.findById(id));
     }
 
+    /** Checks a schedule of candidate sessions against the venue's bookings. */
+    @PostMapping("/{id}/availability")
+    public ResponseEntity<List<ScheduleSlotDTO>> checkAvailability(
+            @PathVariable Long id,
+            @RequestBody List<ScheduleSlotDTO> slots) {
+        return ResponseEntity.ok(venueService.checkAvailability(id, slots));
+    }
+
     @PostMapping
     public ResponseEntity<VenueDTO> createVenue(@Valid @RequestBody VenueDTO venueDTO) {
         VenueDTO created = venueService.create(venueDTO);
@@ -0,0 +1,25 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.entity.Registration.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One row of an event's attendee export (read as a JPQL constructor projection). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendeeDTO {
+
+    private Long registrationId;
+    private String ticketCode;
+    private Integer numberOfTickets;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime registeredAt;
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
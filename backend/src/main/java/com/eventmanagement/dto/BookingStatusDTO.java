@@ -0,0 +1,22 @@
+package com.eventmanagement.dto;
+
+import lombok.*;
+
+/** State of a queued booking request (async booking mode). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingStatusDTO {
+
+    public enum Status {
+        PENDING, CONFIRMED, REJECTED
+    }
+
+    private String handle;
+    private Status status;
+    /** Set when CONFIRMED. */
+    private RegistrationDTO registration;
+    /** Reason when REJECTED; a hint when CONFIRMED without the registration details. */
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.eventmanagement.dto;
+
+import lombok.*;
+
+/** Hit/miss counters of one second-level cache region since startup. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    /** hits / (hits + misses), or 0 before the first lookup. */
+    private double hitRatio;
+    private long entries;
+}
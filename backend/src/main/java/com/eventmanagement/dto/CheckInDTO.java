@@ -0,0 +1,26 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** A scanned ticket code and, in the response, what the gate should do with it. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckInDTO {
+
+    public enum Result {
+        ADMITTED, ALREADY_CHECKED_IN, INVALID
+    }
+
+    @NotBlank(message = "Ticket code is required")
+    private String ticketCode;
+
+    private Result result;
+    private Long registrationId;
+    /** When the ticket was (first) checked in; null if INVALID. */
+    private LocalDateTime checkedInAt;
+}
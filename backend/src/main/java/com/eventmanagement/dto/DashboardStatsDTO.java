@@ -1,10 +1,13 @@
 package com.eventmanagement.dto;
 
+import com.eventmanagement.entity.Event.EventStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +18,7 @@ public class DashboardStatsDTO {
     private long venueCount;
     private long userCount;
     private long publishedEventCount;
+    private Map<EventStatus, Long> eventCountByStatus;
+    private long bookingCount;
+    private double grossRevenue;
 }
@@ -0,0 +1,28 @@
+package com.eventmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a bulk import; errors lists at most the first few hundred failed rows. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        /** 1-based data row (the CSV header is not counted). */
+        private long row;
+        private String message;
+    }
+}
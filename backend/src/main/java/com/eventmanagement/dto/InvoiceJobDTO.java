@@ -0,0 +1,29 @@
+package com.eventmanagement.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** State of a bulk invoice job; also its checkpoint file, rewritten after every chunk. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class InvoiceJobDTO {
+
+    public enum Status { RUNNING, INTERRUPTED, FAILED, COMPLETED }
+
+    private String id;
+    private Long eventId;
+    /** yyyy-MM of registeredAt, or null for every month. */
+    private String month;
+    private Status status;
+    private long invoicesWritten;
+    /** Highest registration id written; the job resumes after it. */
+    private long lastRegistrationId;
+    /** Length of the output file at the checkpoint; anything past it is discarded on resume. */
+    private long bytesWritten;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
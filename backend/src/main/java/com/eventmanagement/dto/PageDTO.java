@@ -0,0 +1,17 @@
+package com.eventmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One keyset page; nextCursor is null on the last page. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+}
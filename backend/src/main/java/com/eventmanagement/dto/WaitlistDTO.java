@@ -0,0 +1,25 @@
+package com.eventmanagement.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** The current user's place on an event's waitlist. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistDTO {
+
+    public enum Status {
+        WAITING, BOOKED, NOT_WAITING
+    }
+
+    private Long eventId;
+    private Status status;
+    /** Set when WAITING. */
+    private Integer numberOfTickets;
+    /** 1 for the head of the queue; set when WAITING. */
+    private Long position;
+    private LocalDateTime joinedAt;
+}
@@ -6,13 +6,19 @@ package com.eventmanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_start_date_id", columnList = "start_date, id"),
+        @Index(name = "idx_events_status", columnList = "status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
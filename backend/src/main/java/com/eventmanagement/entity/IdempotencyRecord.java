@@ -0,0 +1,46 @@
+package com.eventmanagement.entity;
+
+// ============================================
+// Idempotency record - stored outcome of a keyed booking request
+// ============================================
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    /** "{userId}:{Idempotency-Key}", so keys of different users never collide. */
+    @Id
+    @Column(length = 150)
+    private String id;
+
+    /** What the key was first used for; a reuse for anything else is refused. */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /** HTTP status of the stored response; null when the request failed. */
+    private Integer status;
+
+    /** JSON body of the stored response. */
+    @Lob
+    private String body;
+
+    /** Error message of a failed request. */
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
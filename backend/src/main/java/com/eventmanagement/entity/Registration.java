@@ -10,7 +10,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "registrations")
+@Table(name = "registrations", indexes = {
+        @Index(name = "idx_registrations_user_registered_at", columnList = "user_id, registered_at, id"),
+        // Unique: a code from a misconfigured second instance fails the booking instead of
+        // being admitted twice
+        @Index(name = "uk_registrations_ticket_code", columnList = "ticket_code", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,6 +46,9 @@ public class Registration {
     @Builder.Default
     private LocalDateTime registeredAt = LocalDateTime.now();
 
+    /** Set when the ticket is scanned at the door; null until then. */
+    private LocalDateTime checkedInAt;
+
     public enum PaymentStatus {
         PENDING, COMPLETED, REFUNDED, FAILED
     }
@@ -0,0 +1,49 @@
+package com.eventmanagement.entity;
+
+// ============================================
+// Waitlist entry - a user queued for a sold-out event
+// ============================================
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * The auto-increment id gives the queue order. Rows are removed by the database when
+ * their event or user is deleted, so a long queue never has to be loaded to cascade.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_event_user", columnNames = {"event_id", "user_id"}),
+        indexes = @Index(name = "idx_waitlist_event_id", columnList = "event_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(nullable = false)
+    private Integer numberOfTickets;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime joinedAt = LocalDateTime.now();
+}
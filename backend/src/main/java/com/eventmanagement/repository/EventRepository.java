@@ -7,26 +7,69 @@ package com.eventmanagement.repository;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.entity.Event.EventStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    // Listing queries fetch venue and organizer in the same select (used by EventDTO)
+    @Override
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    List<Event> findAll();
+
+    @EntityGraph(attributePaths = {"venue", "organizer"})
     List<Event> findByStatus(EventStatus status);
 
+    @EntityGraph(attributePaths = {"venue", "organizer"})
     List<Event> findByNameContainingIgnoreCase(String name);
 
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    List<Event> findByIdIn(Collection<Long> ids);
+
+    /** Id-ordered chunk for bulk loading in-memory structures at startup. */
+    List<Event> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    List<Event> findByNameContainingIgnoreCaseAndStatus(String name, EventStatus status);
+
+    // Organizer visibility: all published events plus the organizer's own events in any status
+
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    @Query("SELECT e FROM Event e WHERE e.status = 'PUBLISHED' OR e.organizer.id = :organizerId")
+    List<Event> findVisibleToOrganizer(Long organizerId);
+
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    @Query("SELECT e FROM Event e WHERE e.status = :status " +
+           "AND (e.status = 'PUBLISHED' OR e.organizer.id = :organizerId)")
+    List<Event> findByStatusVisibleToOrganizer(EventStatus status, Long organizerId);
+
+    /** name escapes literal %, _ and \ with a backslash. */
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    @Query("SELECT e FROM Event e WHERE LOWER(e.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (e.status = 'PUBLISHED' OR e.organizer.id = :organizerId)")
+    List<Event> searchByNameVisibleToOrganizer(String name, EventStatus status, Long organizerId);
+
     @Query("SELECT e FROM Event e WHERE e.startDate BETWEEN :start AND :end ORDER BY e.startDate")
     List<Event> findEventsBetweenDates(LocalDateTime start, LocalDateTime end);
 
+    @EntityGraph(attributePaths = {"venue", "organizer"})
     @Query("SELECT e FROM Event e WHERE e.startDate >= :from AND e.status = 'PUBLISHED' ORDER BY e.startDate ASC")
     List<Event> findUpcomingPublished(LocalDateTime from, Pageable pageable);
 
     List<Event> findByVenueId(Long venueId);
 
+    @EntityGraph(attributePaths = {"organizer"})
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdWithOrganizer(Long id);
+
+    @EntityGraph(attributePaths = {"venue", "organizer"})
     List<Event> findByOrganizerId(Long organizerId);
 
     @Query("SELECT e FROM Event e WHERE e.venue.id = :venueId " +
@@ -34,5 +77,36 @@ public interface EventRepository extends JpaRepository<Event, Long> {
            "AND ((e.startDate <= :endDate AND e.endDate >= :startDate))")
     List<Event> findOverlappingEvents(Long venueId, LocalDateTime startDate, LocalDateTime endDate);
 
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.venue.id = :venueId " +
+           "AND e.status != 'CANCELLED' " +
+           "AND e.startDate <= :endDate AND e.endDate >= :startDate")
+    boolean existsOverlappingEvent(Long venueId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.venue.id = :venueId " +
+           "AND e.id != :excludeId " +
+           "AND e.status != 'CANCELLED' " +
+           "AND e.startDate <= :endDate AND e.endDate >= :startDate")
+    boolean existsOverlappingEventExcluding(Long venueId, LocalDateTime startDate, LocalDateTime endDate,
+                                            Long excludeId);
+
     long countByStatus(EventStatus status);
+
+    /** Rows of [status, count]. */
+    @Query("SELECT e.status, COUNT(e) FROM Event e GROUP BY e.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Keyset page ordered by (startDate, id), starting after the given position.
+     * Rows are visible when seeAll is true, the event is published, or viewerId organizes it.
+     * namePattern escapes literal %, _ and \ with a backslash.
+     */
+    @EntityGraph(attributePaths = {"venue", "organizer"})
+    @Query("SELECT e FROM Event e WHERE e.status IN :statuses " +
+           "AND LOWER(e.name) LIKE :namePattern ESCAPE '\\' " +
+           "AND (:seeAll = true OR e.status = 'PUBLISHED' OR e.organizer.id = :viewerId) " +
+           "AND (e.startDate > :afterDate OR (e.startDate = :afterDate AND e.id > :afterId)) " +
+           "ORDER BY e.startDate ASC, e.id ASC")
+    List<Event> findPageAfter(Collection<EventStatus> statuses, String namePattern,
+                              boolean seeAll, Long viewerId,
+                              LocalDateTime afterDate, Long afterId, Pageable pageable);
 }
@@ -4,16 +4,27 @@ package com.eventmanagement.repository;
 // Member 3: Registration repository - data access layer
 // ============================================
 
+import com.eventmanagement.dto.AttendeeDTO;
 import com.eventmanagement.entity.Registration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
 
     List<Registration> findByEventId(Long eventId);
 
+    @EntityGraph(attributePaths = {"event", "user"})
     List<Registration> findByUserId(Long userId);
 
     Optional<Registration> findByEventIdAndUserId(Long eventId, Long userId);
@@ -23,4 +34,52 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     Optional<Registration> findByTicketCode(String ticketCode);
 
     int countByEventId(Long eventId);
+
+    /**
+     * Attendees of an event in registration order, as unmanaged projections so nothing
+     * accumulates in the persistence context. Fetch size MIN_VALUE makes MySQL Connector/J
+     * stream rows instead of buffering the whole result. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.eventmanagement.dto.AttendeeDTO(r.id, r.ticketCode, r.numberOfTickets, r.paymentStatus, " +
+           "r.registeredAt, u.id, u.firstName, u.lastName, u.email) " +
+           "FROM Registration r JOIN r.user u WHERE r.event.id = :eventId ORDER BY r.id")
+    Stream<AttendeeDTO> streamAttendeesByEventId(Long eventId);
+
+    /** Rows of [id, ticketCode, checkedInAt] for loading a check-in gate; streamed like the attendee export. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT r.id, r.ticketCode, r.checkedInAt FROM Registration r WHERE r.event.id = :eventId")
+    Stream<Object[]> streamTicketCodesByEventId(Long eventId);
+
+    @Query("SELECT r.id, r.ticketCode, r.checkedInAt FROM Registration r WHERE r.event.id = :eventId AND r.registeredAt >= :since")
+    List<Object[]> findTicketCodesByEventIdRegisteredSince(Long eventId, LocalDateTime since);
+
+    @Query("SELECT r.user.id FROM Registration r WHERE r.event.id = :eventId AND r.user.id IN :userIds")
+    List<Long> findUserIdsByEventIdAndUserIdIn(Long eventId, Collection<Long> userIds);
+
+    @Query("SELECT r FROM Registration r JOIN FETCH r.event JOIN FETCH r.user WHERE r.ticketCode IN :ticketCodes")
+    List<Registration> findByTicketCodeIn(Collection<String> ticketCodes);
+
+    /** Keyset page of a user's bookings, newest first, ordered by (registeredAt, id). */
+    @Query("SELECT r FROM Registration r JOIN FETCH r.event JOIN FETCH r.user WHERE r.user.id = :userId " +
+           "AND (r.registeredAt < :beforeDate OR (r.registeredAt = :beforeDate AND r.id < :beforeId)) " +
+           "ORDER BY r.registeredAt DESC, r.id DESC")
+    List<Registration> findPageByUserIdBefore(Long userId, LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    /**
+     * Next chunk of bookings for a bulk invoice job, by ascending id. eventId null means
+     * any event; the registeredAt range selects a month (or everything).
+     */
+    @Query("SELECT r FROM Registration r JOIN FETCH r.event e JOIN FETCH r.user " +
+           "WHERE r.id > :afterId AND (:eventId IS NULL OR e.id = :eventId) " +
+           "AND r.registeredAt >= :from AND r.registeredAt < :to ORDER BY r.id")
+    List<Registration> findInvoiceChunkAfter(Long afterId, Long eventId, LocalDateTime from, LocalDateTime to,
+                                             Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(r.numberOfTickets * COALESCE(e.ticketPrice, 0)), 0) FROM Registration r JOIN r.event e")
+    double sumGrossRevenue();
+
+    /** Rows of [eventId, total tickets booked] for every event with registrations. */
+    @Query("SELECT r.event.id, COALESCE(SUM(r.numberOfTickets), 0) FROM Registration r GROUP BY r.event.id")
+    List<Object[]> sumTicketsGroupedByEvent();
 }
@@ -5,18 +5,36 @@ package com.eventmanagement.repository;
 // ============================================
 
 import com.eventmanagement.entity.Ticket;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     Optional<Ticket> findByEventId(Long eventId);
 
+    List<Ticket> findByEventIdIn(Collection<Long> eventIds);
+
+    /** Locks the event's ticket row for the rest of the transaction (batched bookings). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId")
+    Optional<Ticket> findByEventIdForUpdate(@Param("eventId") Long eventId);
+
     @Modifying
     @Query("UPDATE Ticket t SET t.ticketsLeft = t.ticketsLeft - :count WHERE t.event.id = :eventId AND t.ticketsLeft >= :count")
     int decrementTickets(@Param("eventId") Long eventId, @Param("count") int count);
+
+    /** Write-behind target for the in-memory ticket inventory. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ticket t SET t.ticketsLeft = :ticketsLeft WHERE t.event.id = :eventId")
+    int setTicketsLeft(@Param("eventId") Long eventId, @Param("ticketsLeft") int ticketsLeft);
 }
@@ -0,0 +1,39 @@
+package com.eventmanagement.repository;
+
+// ============================================
+// Waitlist repository - FIFO queue per event
+// ============================================
+
+import com.eventmanagement.entity.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsByEventId(Long eventId);
+
+    boolean existsByEventIdAndUserId(Long eventId, Long userId);
+
+    Optional<WaitlistEntry> findByEventIdAndUserId(Long eventId, Long userId);
+
+    /** Entries queued ahead of the given one; served from idx_waitlist_event_id. */
+    long countByEventIdAndIdLessThan(Long eventId, Long id);
+
+    /** Fewest tickets any waiter asked for, or null when nobody is waiting. */
+    @Query("SELECT MIN(w.numberOfTickets) FROM WaitlistEntry w WHERE w.event.id = :eventId")
+    Integer findSmallestRequest(@Param("eventId") Long eventId);
+
+    /** Next slice of the queue in join order, after the given entry id. */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.id > :afterId ORDER BY w.id")
+    List<WaitlistEntry> findChunkAfter(@Param("eventId") Long eventId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.user.id = :userId")
+    int deleteByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+}
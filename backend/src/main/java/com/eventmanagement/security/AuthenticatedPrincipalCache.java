@@ -0,0 +1,127 @@
+package com.eventmanagement.security;
+
+import com.eventmanagement.service.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of verified JWTs and the user they resolved to, so repeat
+ * requests with the same token skip signature verification and the user lookup.
+ * Entries expire after the configured TTL or when the token itself expires,
+ * and are dropped whenever the user's role changes or the user is deleted.
+ * Callers read {@link #generation()} before loading the user and pass it to
+ * {@link #put}; a put that loaded the user before an invalidation is ignored.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    public record CachedPrincipal(Long userId, String email, String role, long expiresAtMillis) {
+    }
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final LinkedHashMap<String, CachedPrincipal> entries;
+    /** Bumped by every invalidation; guarded by {@code entries}. */
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthenticatedPrincipalCache(
+            @Value("${app.jwt.principal-cache.max-size:10000}") int maxSize,
+            @Value("${app.jwt.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > AuthenticatedPrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    public CachedPrincipal get(String token) {
+        CachedPrincipal principal;
+        synchronized (entries) {
+            principal = entries.get(token);
+            if (principal != null && principal.expiresAtMillis() <= System.currentTimeMillis()) {
+                entries.remove(token);
+                principal = null;
+            }
+        }
+        if (principal != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return principal;
+    }
+
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches the principal unless an invalidation ran since {@code readGeneration} was taken,
+     * in which case the user that was read may already be stale.
+     */
+    public void put(String token, Long userId, String email, String role, long tokenExpiresAtMillis,
+                    long readGeneration) {
+        if (maxSize <= 0) return;
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMs, tokenExpiresAtMillis);
+        synchronized (entries) {
+            if (readGeneration != generation) return;
+            entries.put(token, new CachedPrincipal(userId, email, role, expiresAt));
+        }
+    }
+
+    /**
+     * Drops every cached token that resolved to this user. Inside a transaction it runs
+     * again after commit, so a request racing the update cannot re-cache the old role.
+     */
+    public void invalidateUser(String email) {
+        if (email == null) return;
+        removeUser(email);
+        TransactionHooks.afterCommit(() -> removeUser(email));
+    }
+
+    private void removeUser(String email) {
+        synchronized (entries) {
+            generation++;
+            Iterator<CachedPrincipal> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (email.equalsIgnoreCase(it.next().email())) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventmanagement.security;
+
+import java.security.Principal;
+
+/**
+ * Principal set by JwtAuthFilter. Carries the user id and role resolved at
+ * authentication so services don't need to look the user up again.
+ * getName() returns the email, so Authentication.getName() is unchanged.
+ */
+public record AuthenticatedUser(Long id, String email, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
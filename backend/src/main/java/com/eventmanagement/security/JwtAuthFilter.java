@@ -2,11 +2,13 @@ package com.eventmanagement.security;
 
 import com.eventmanagement.entity.User;
 import com.eventmanagement.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,46 +20,102 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final MeterRegistry registry;
+    private final Map<Result, Timer> timers = new EnumMap<>(Result.class);
+
+    /** none (no token), cached, verified (signature and DB check) or rejected. */
+    private enum Result { NONE, CACHED, VERIFIED, REJECTED }
+
+    public JwtAuthFilter(JwtUtil jwtUtil,
+                         UserRepository userRepository,
+                         AuthenticatedPrincipalCache principalCache,
+                         MeterRegistry registry) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.registry = registry;
+        for (Result result : Result.values()) {
+            timers.put(result, Timer.builder("app.jwt.filter")
+                    .description("JWT authentication time per request")
+                    .tag("result", result.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
 
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Time spent authenticating only, not the rest of the chain
+        Timer.Sample sample = Timer.start(registry);
+        Result result = Result.NONE;
         try {
             String token = getJwtFromRequest(request);
             if (StringUtils.hasText(token)) {
-                String email = jwtUtil.getEmailFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
-                if (email != null && role != null) {
-                    User user = userRepository.findByEmail(email).orElse(null);
-                    if (user != null && user.getRole().name().equals(role)) {
-                        List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                                new SimpleGrantedAuthority("ROLE_" + role)
-                        );
-                        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                                email,
-                                null,
-                                authorities
-                        );
-                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
+                result = Result.REJECTED;
+                AuthenticatedPrincipalCache.CachedPrincipal principal = principalCache.get(token);
+                if (principal != null) {
+                    result = Result.CACHED;
+                } else {
+                    principal = resolvePrincipal(token);
+                    if (principal != null) {
+                        result = Result.VERIFIED;
                     }
                 }
+                if (principal != null) {
+                    List<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                            new SimpleGrantedAuthority("ROLE_" + principal.role())
+                    );
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            new AuthenticatedUser(principal.userId(), principal.email(), principal.role()),
+                            null,
+                            authorities
+                    );
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         } catch (Exception ignored) {
+            result = Result.REJECTED;
         }
+        sample.stop(timers.get(result));
         filterChain.doFilter(request, response);
     }
 
+    /** Verifies the token, checks the user and role against the DB and caches the result. */
+    private AuthenticatedPrincipalCache.CachedPrincipal resolvePrincipal(String token) {
+        Claims claims = jwtUtil.parseClaims(token);
+        String email = claims.getSubject();
+        String role = claims.get("role", String.class);
+        if (email == null || role == null) {
+            return null;
+        }
+        // Taken before the lookup, so an invalidation in between keeps the result out of the cache
+        long generation = principalCache.generation();
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null || !user.getRole().name().equals(role)) {
+            return null;
+        }
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        principalCache.put(token, user.getId(), email, role, expiresAt, generation);
+        // The entity is already loaded; let SecurityUtils reuse it for the rest of this request
+        SecurityUtils.rememberCurrentUser(user);
+        return new AuthenticatedPrincipalCache.CachedPrincipal(user.getId(), email, role, expiresAt);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearer = request.getHeader("Authorization");
         if (StringUtils.hasText(bearer) && bearer.startsWith("Bearer ")) {
@@ -1,6 +1,7 @@
 package com.eventmanagement.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,8 +20,17 @@ public class JwtUtil {
     @Value("${app.jwt.expiration-ms:86400000}")
     private long expirationMs;
 
+    // Built once; both are immutable and thread-safe
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
     }
 
     public String generateToken(String email, String role) {
@@ -33,22 +43,26 @@ public class JwtUtil {
                 .compact();
     }
 
+    /** Verifies the token once and returns all claims (subject = email, "role" claim). */
+    public Claims parseClaims(String token) {
+        return getParser().parseSignedClaims(token).getPayload();
+    }
+
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = p;
+        }
+        return p;
+    }
+
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     public boolean validateToken(String token, String email) {
@@ -61,11 +75,6 @@ public class JwtUtil {
     }
 
     private boolean isTokenExpired(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getExpiration().before(new Date());
+        return parseClaims(token).getExpiration().before(new Date());
     }
 }
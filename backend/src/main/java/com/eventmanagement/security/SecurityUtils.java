@@ -6,14 +6,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Utility class to get current authenticated user and check roles.
+ * Id and role come from the {@link AuthenticatedUser} principal; the User entity
+ * is loaded at most once per request and memoized in the request attributes.
  */
 @Component
 @RequiredArgsConstructor
 public class SecurityUtils {
 
+    private static final String CURRENT_USER_ATTRIBUTE = SecurityUtils.class.getName() + ".currentUser";
+
     private final UserRepository userRepository;
 
     public User getCurrentUser() {
@@ -21,7 +27,28 @@ public class SecurityUtils {
         if (auth == null || auth.getName() == null) {
             return null;
         }
-        return userRepository.findByEmail(auth.getName()).orElse(null);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object cached = attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof User user && auth.getName().equals(user.getEmail())) {
+                return user;
+            }
+        }
+        User user = userRepository.findByEmail(auth.getName()).orElse(null);
+        if (user != null) {
+            rememberCurrentUser(user);
+        }
+        return user;
+    }
+
+    /** Id of the authenticated user without touching the database, or null if not authenticated. */
+    public Long getCurrentUserId() {
+        AuthenticatedUser principal = getPrincipal();
+        if (principal != null) {
+            return principal.id();
+        }
+        User user = getCurrentUser();
+        return user != null ? user.getId() : null;
     }
 
     public String getCurrentUserEmail() {
@@ -32,6 +59,9 @@ public class SecurityUtils {
     public boolean hasRole(String role) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null) return false;
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return role.equals(principal.role());
+        }
         return auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_" + role));
     }
@@ -47,4 +77,20 @@ public class SecurityUtils {
     public boolean isAttendee() {
         return hasRole("ATTENDEE");
     }
+
+    /** Stores the user loaded during authentication for reuse within the current request. */
+    static void rememberCurrentUser(User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private AuthenticatedUser getPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+        return null;
+    }
 }
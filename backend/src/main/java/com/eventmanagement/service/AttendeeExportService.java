@@ -0,0 +1,116 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Attendee export - streamed CSV / NDJSON roster per event
+// ============================================
+
+import com.eventmanagement.dto.AttendeeDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.security.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes an event's attendees straight from a streaming query to the response, one
+ * row at a time, so memory use does not depend on the number of registrations.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendeeExportService {
+
+    private static final String CSV_HEADER =
+            "registrationId,ticketCode,numberOfTickets,paymentStatus,registeredAt,userId,firstName,lastName,email";
+    /** Rows between flushes, so the client starts receiving data early. */
+    private static final int FLUSH_EVERY = 1000;
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Checks that the caller may export the event (admin or its organizer). Call this on
+     * the request thread, before the response starts streaming.
+     */
+    @Transactional(readOnly = true)
+    public void checkAccess(Long eventId) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+        if (!securityUtils.isAdmin() && !event.getOrganizer().getId().equals(currentUserId)) {
+            throw new RuntimeException("Access denied. You can only export attendees of your own events");
+        }
+    }
+
+    /** Streams the roster; the transaction keeps the result set open while rows are written. */
+    @Transactional(readOnly = true)
+    public void write(Long eventId, boolean ndjson, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (!ndjson) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<AttendeeDTO> attendees = registrationRepository.streamAttendeesByEventId(eventId)) {
+            Iterator<AttendeeDTO> it = attendees.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                AttendeeDTO a = it.next();
+                if (ndjson) {
+                    writer.write(objectMapper.writeValueAsString(a));
+                } else {
+                    writeCsvRow(writer, a);
+                }
+                writer.write('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, AttendeeDTO a) throws IOException {
+        writer.write(String.valueOf(a.getRegistrationId()));
+        writer.write(',');
+        writer.write(csv(a.getTicketCode()));
+        writer.write(',');
+        writer.write(String.valueOf(a.getNumberOfTickets()));
+        writer.write(',');
+        writer.write(a.getPaymentStatus() != null ? a.getPaymentStatus().name() : "");
+        writer.write(',');
+        writer.write(a.getRegisteredAt() != null ? a.getRegisteredAt().toString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(a.getUserId()));
+        writer.write(',');
+        writer.write(csv(a.getFirstName()));
+        writer.write(',');
+        writer.write(csv(a.getLastName()));
+        writer.write(',');
+        writer.write(csv(a.getEmail()));
+    }
+
+    /** Quotes the value if it contains a separator, quote or line break (RFC 4180). */
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -16,6 +16,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final DashboardCounters dashboardCounters;
 
     @Transactional(readOnly = true)
     public AuthResponse login(AuthRequest request) {
@@ -52,6 +53,7 @@ public class AuthService {
                 .role(request.getRole())
                 .build();
         user = userRepository.save(user);
+        dashboardCounters.userCreated();
         String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
         return AuthResponse.builder()
                 .token(token)
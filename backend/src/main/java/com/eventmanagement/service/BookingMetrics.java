@@ -0,0 +1,119 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Booking metrics - outcome counters and ticketsLeft of the hottest events
+// ============================================
+
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts booking outcomes ({@code app.bookings{outcome}}) and publishes ticketsLeft for
+ * the events booked most in recent minutes ({@code app.event.tickets.left{eventId}}).
+ * Only the top {@code app.metrics.hot-events} events get a series, so the number of
+ * time series stays fixed however many events exist.
+ */
+@Component
+public class BookingMetrics {
+
+    public enum Outcome { SUCCESS, SOLD_OUT, DUPLICATE, NOT_PUBLISHED, STARTED, NOT_FOUND }
+
+    private final TicketInventory ticketInventory;
+    private final TicketRepository ticketRepository;
+    private final int hotEvents;
+
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    /** Tickets booked per event since the last refresh. */
+    private final Map<Long, LongAdder> recent = new ConcurrentHashMap<>();
+    /** Decayed booking activity per event; only touched by the refresh. */
+    private final Map<Long, Double> heat = new HashMap<>();
+    private final MultiGauge ticketsLeft;
+
+    public BookingMetrics(MeterRegistry registry,
+                          TicketInventory ticketInventory,
+                          TicketRepository ticketRepository,
+                          @Value("${app.metrics.hot-events:10}") int hotEvents) {
+        this.ticketInventory = ticketInventory;
+        this.ticketRepository = ticketRepository;
+        this.hotEvents = hotEvents;
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("app.bookings")
+                    .description("Booking attempts by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.ticketsLeft = MultiGauge.builder("app.event.tickets.left")
+                .description("Tickets left for the most booked events")
+                .register(registry);
+    }
+
+    /** Counts a confirmed booking once its transaction commits. */
+    public void booked(Long eventId, int tickets) {
+        TransactionHooks.afterCommit(() -> {
+            outcomes.get(Outcome.SUCCESS).increment();
+            recent.computeIfAbsent(eventId, id -> new LongAdder()).add(tickets);
+        });
+    }
+
+    public void rejected(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    /** Re-ranks events by recent bookings (halving older activity) and republishes the gauge. */
+    @Scheduled(fixedDelayString = "${app.metrics.hot-events-refresh-ms:15000}")
+    public void refreshHotEvents() {
+        List<Long> top = rankHotEvents();
+        Map<Long, Integer> left = new HashMap<>();
+        List<Long> untracked = new ArrayList<>();
+        for (Long eventId : top) {
+            Integer tracked = ticketInventory.ticketsLeft(eventId);
+            if (tracked != null) {
+                left.put(eventId, tracked);
+            } else {
+                untracked.add(eventId);
+            }
+        }
+        if (!untracked.isEmpty()) {
+            for (Ticket ticket : ticketRepository.findByEventIdIn(untracked)) {
+                left.put(ticket.getEvent().getId(), ticket.getTicketsLeft());
+            }
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(left.size());
+        left.forEach((eventId, value) -> rows.add(MultiGauge.Row.of(Tags.of("eventId", eventId.toString()), value)));
+        ticketsLeft.register(rows, true);
+    }
+
+    /** Decays and ranks the activity; the ticket lookup happens outside this lock. */
+    private synchronized List<Long> rankHotEvents() {
+        heat.replaceAll((id, score) -> score / 2);
+        for (Long eventId : new ArrayList<>(recent.keySet())) {
+            LongAdder adder = recent.remove(eventId);
+            if (adder != null) {
+                heat.merge(eventId, (double) adder.sum(), Double::sum);
+            }
+        }
+        heat.values().removeIf(score -> score < 0.5);
+
+        return heat.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(hotEvents)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,393 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Booking pipeline - queued, group-committed bookings (async booking mode)
+// ============================================
+
+import com.eventmanagement.dto.BookRequest;
+import com.eventmanagement.dto.BookingStatusDTO;
+import com.eventmanagement.dto.RegistrationDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Registration;
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.security.SecurityUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async booking mode ({@code app.booking.mode=async}). POST /registrations only
+ * validates the caller and enqueues the request; a worker thread drains the bounded
+ * queue, groups requests by event and applies each group in one transaction with a
+ * single inventory decrement and one batched registration insert. Requests in a group
+ * are served in arrival order. Clients poll (or long-poll) the handle for the outcome.
+ */
+@Slf4j
+@Component
+public class BookingPipeline {
+
+    private static final String INSERT_REGISTRATION =
+            "INSERT INTO registrations (event_id, user_id, number_of_tickets, payment_status, ticket_code, registered_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final RegistrationService registrationService;
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final WaitlistService waitlistService;
+    private final TicketInventory ticketInventory;
+    private final DashboardCounters dashboardCounters;
+    private final CheckInService checkInService;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
+    private final BookingMetrics bookingMetrics;
+    private final SecurityUtils securityUtils;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long handleTtlMs;
+    private final BlockingQueue<PendingBooking> queue;
+    private final Map<String, PendingBooking> handles = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    private record Rejection(String message, BookingMetrics.Outcome outcome) {
+    }
+
+    private static final class PendingBooking {
+        final String handle = UUID.randomUUID().toString();
+        final Long userId;
+        final Long eventId;
+        final int numberOfTickets;
+        final CompletableFuture<BookingStatusDTO> outcome = new CompletableFuture<>();
+        volatile long completedAt;
+
+        PendingBooking(Long userId, Long eventId, int numberOfTickets) {
+            this.userId = userId;
+            this.eventId = eventId;
+            this.numberOfTickets = numberOfTickets;
+        }
+    }
+
+    public BookingPipeline(RegistrationService registrationService,
+                           RegistrationRepository registrationRepository,
+                           EventRepository eventRepository,
+                           TicketRepository ticketRepository,
+                           WaitlistService waitlistService,
+                           TicketInventory ticketInventory,
+                           DashboardCounters dashboardCounters,
+                           CheckInService checkInService,
+                           CatalogVersions catalogVersions,
+                           UpcomingEventsFeed upcomingEventsFeed,
+                           BookingMetrics bookingMetrics,
+                           SecurityUtils securityUtils,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.booking.mode:sync}") String mode,
+                           @Value("${app.booking.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.booking.batch-size:200}") int batchSize,
+                           @Value("${app.booking.handle-ttl-ms:600000}") long handleTtlMs) {
+        this.registrationService = registrationService;
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.waitlistService = waitlistService;
+        this.ticketInventory = ticketInventory;
+        this.dashboardCounters = dashboardCounters;
+        this.checkInService = checkInService;
+        this.catalogVersions = catalogVersions;
+        this.upcomingEventsFeed = upcomingEventsFeed;
+        this.bookingMetrics = bookingMetrics;
+        this.securityUtils = securityUtils;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = "async".equalsIgnoreCase(mode);
+        this.batchSize = Math.max(1, batchSize);
+        this.handleTtlMs = handleTtlMs;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        running = true;
+        worker = new Thread(this::drainLoop, "booking-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(5000);
+        }
+    }
+
+    /** Validates the caller and queues the booking; the returned status is PENDING. */
+    public BookingStatusDTO submit(BookRequest request) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        if (!securityUtils.isAttendee() && !securityUtils.isAdmin()) {
+            throw new RuntimeException("Only attendees can book events");
+        }
+        PendingBooking pending = new PendingBooking(currentUserId, request.getEventId(), request.getNumberOfTickets());
+        handles.put(pending.handle, pending);
+        if (!queue.offer(pending)) {
+            handles.remove(pending.handle);
+            throw new RuntimeException("Too many bookings in progress. Please retry shortly.");
+        }
+        return pendingStatus(pending.handle);
+    }
+
+    /**
+     * Current status of a booking handle. With waitMs > 0 the future completes as soon
+     * as the booking is decided, or with the PENDING status once waitMs has passed.
+     */
+    public CompletableFuture<BookingStatusDTO> status(String handle, long waitMs) {
+        PendingBooking pending = handles.get(handle);
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (pending == null || !pending.userId.equals(currentUserId)) {
+            throw new RuntimeException("Booking request not found");
+        }
+        if (pending.outcome.isDone() || waitMs <= 0) {
+            return CompletableFuture.completedFuture(pending.outcome.getNow(pendingStatus(handle)));
+        }
+        return pending.outcome.copy().completeOnTimeout(pendingStatus(handle), waitMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.handle-ttl-ms:600000}")
+    public void evictCompletedHandles() {
+        long cutoff = System.currentTimeMillis() - handleTtlMs;
+        handles.values().removeIf(p -> p.outcome.isDone() && p.completedAt < cutoff);
+    }
+
+    private void drainLoop() {
+        List<PendingBooking> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingBooking first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                Map<Long, List<PendingBooking>> byEvent = new LinkedHashMap<>();
+                for (PendingBooking pending : batch) {
+                    byEvent.computeIfAbsent(pending.eventId, id -> new ArrayList<>()).add(pending);
+                }
+                for (Map.Entry<Long, List<PendingBooking>> group : byEvent.entrySet()) {
+                    applyGroup(group.getKey(), group.getValue());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Booking batch failed", ex);
+                // Groups that already committed have completed their handles
+                for (PendingBooking pending : batch) {
+                    if (!pending.outcome.isDone()) {
+                        reject(pending, "Booking failed. Please retry.");
+                    }
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void applyGroup(Long eventId, List<PendingBooking> group) {
+        Map<PendingBooking, Rejection> rejected = new HashMap<>();
+        Map<String, PendingBooking> accepted = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                rejected.clear();
+                accepted.clear();
+                decide(eventId, group, accepted, rejected);
+                if (!accepted.isEmpty()) {
+                    insertRegistrations(eventId, accepted);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Booking group for event {} rolled back: {}", eventId, ex.getMessage());
+            for (PendingBooking pending : group) {
+                reject(pending, "Booking failed. Please retry.");
+            }
+            return;
+        }
+        // Counted only now, so a group that rolled back is not counted as well
+        for (Map.Entry<PendingBooking, Rejection> entry : rejected.entrySet()) {
+            bookingMetrics.rejected(entry.getValue().outcome());
+            reject(entry.getKey(), entry.getValue().message());
+        }
+        if (!accepted.isEmpty()) {
+            confirm(eventId, accepted);
+        }
+    }
+
+    /**
+     * Completes the handles of a committed group. The bookings stand even if loading them
+     * back fails, so those handles are still CONFIRMED, with a hint instead of the details.
+     */
+    private void confirm(Long eventId, Map<String, PendingBooking> accepted) {
+        Map<String, RegistrationDTO> dtos = new HashMap<>();
+        try {
+            for (Registration reg : registrationRepository.findByTicketCodeIn(accepted.keySet())) {
+                dtos.put(reg.getTicketCode(), registrationService.toDTO(reg));
+                checkInService.registeredAfterCommit(eventId, reg.getId(), reg.getTicketCode());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not load confirmed bookings for event {}: {}", eventId, ex.getMessage());
+        }
+        for (Map.Entry<String, PendingBooking> entry : accepted.entrySet()) {
+            RegistrationDTO registration = dtos.get(entry.getKey());
+            complete(entry.getValue(), BookingStatusDTO.builder()
+                    .handle(entry.getValue().handle)
+                    .status(BookingStatusDTO.Status.CONFIRMED)
+                    .registration(registration)
+                    .message(registration == null ? "Booking confirmed. See your bookings for the details." : null)
+                    .build());
+        }
+    }
+
+    /** Applies the same rules as RegistrationService.book to the whole group, in order. */
+    private void decide(Long eventId, List<PendingBooking> group,
+                        Map<String, PendingBooking> accepted, Map<PendingBooking, Rejection> rejected) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        String eventError = null;
+        BookingMetrics.Outcome outcome = null;
+        if (event == null) {
+            eventError = "Event not found";
+            outcome = BookingMetrics.Outcome.NOT_FOUND;
+        } else if (event.getStatus() != Event.EventStatus.PUBLISHED) {
+            eventError = "Event is not available for booking";
+            outcome = BookingMetrics.Outcome.NOT_PUBLISHED;
+        } else if (event.getStartDate().isBefore(LocalDateTime.now())) {
+            eventError = "Event has already started";
+            outcome = BookingMetrics.Outcome.STARTED;
+        } else if (waitlistService.blocksDirectBooking(eventId, () -> registrationService.ticketsLeft(event))) {
+            eventError = RegistrationService.WAITLIST_FIRST;
+            outcome = BookingMetrics.Outcome.SOLD_OUT;
+        }
+        if (eventError != null) {
+            for (PendingBooking pending : group) {
+                rejected.put(pending, new Rejection(eventError, outcome));
+            }
+            return;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        for (PendingBooking pending : group) userIds.add(pending.userId);
+        Set<Long> alreadyBooked = new HashSet<>(registrationRepository.findUserIdsByEventIdAndUserIdIn(eventId, userIds));
+        List<PendingBooking> candidates = new ArrayList<>();
+        for (PendingBooking pending : group) {
+            if (!alreadyBooked.add(pending.userId)) {
+                rejected.put(pending, new Rejection("You have already booked this event",
+                        BookingMetrics.Outcome.DUPLICATE));
+            } else {
+                candidates.add(pending);
+            }
+        }
+
+        if (ticketInventory.isEnabled()) {
+            for (PendingBooking pending : candidates) {
+                if (ticketInventory.tryReserve(eventId, pending.numberOfTickets,
+                        () -> registrationService.findOrCreateTicket(event).getTicketsLeft())) {
+                    accepted.put(registrationService.newTicketCode(eventId), pending);
+                } else {
+                    rejected.put(pending, new Rejection("Not enough tickets available. Booking failed.",
+                            BookingMetrics.Outcome.SOLD_OUT));
+                }
+            }
+        } else {
+            Ticket ticket = ticketRepository.findByEventIdForUpdate(eventId)
+                    .orElseGet(() -> registrationService.findOrCreateTicket(event));
+            int left = ticket.getTicketsLeft();
+            int taken = 0;
+            for (PendingBooking pending : candidates) {
+                if (pending.numberOfTickets <= left - taken) {
+                    taken += pending.numberOfTickets;
+                    accepted.put(registrationService.newTicketCode(eventId), pending);
+                } else {
+                    rejected.put(pending, new Rejection("Not enough tickets available. Only " + (left - taken) + " left.",
+                            BookingMetrics.Outcome.SOLD_OUT));
+                }
+            }
+            if (taken > 0 && ticketRepository.decrementTickets(eventId, taken) == 0) {
+                throw new RuntimeException("Ticket inventory changed during booking batch");
+            }
+        }
+        int booked = 0;
+        for (PendingBooking pending : accepted.values()) {
+            dashboardCounters.bookingCreated(pending.numberOfTickets, event.getTicketPrice());
+            bookingMetrics.booked(eventId, pending.numberOfTickets);
+            booked += pending.numberOfTickets;
+        }
+        if (booked > 0) {
+            catalogVersions.eventChanged(eventId);
+            upcomingEventsFeed.bookedAfterCommit(eventId, booked);
+        }
+    }
+
+    private void insertRegistrations(Long eventId, Map<String, PendingBooking> accepted) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(accepted.size());
+        for (Map.Entry<String, PendingBooking> entry : accepted.entrySet()) {
+            rows.add(new Object[] {eventId, entry.getValue().userId, entry.getValue().numberOfTickets,
+                    Registration.PaymentStatus.COMPLETED.name(), entry.getKey(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_REGISTRATION, rows);
+    }
+
+    private void reject(PendingBooking pending, String message) {
+        complete(pending, BookingStatusDTO.builder()
+                .handle(pending.handle)
+                .status(BookingStatusDTO.Status.REJECTED)
+                .message(message)
+                .build());
+    }
+
+    private void complete(PendingBooking pending, BookingStatusDTO status) {
+        pending.completedAt = System.currentTimeMillis();
+        pending.outcome.complete(status);
+    }
+
+    private static BookingStatusDTO pendingStatus(String handle) {
+        return BookingStatusDTO.builder()
+                .handle(handle)
+                .status(BookingStatusDTO.Status.PENDING)
+                .build();
+    }
+}
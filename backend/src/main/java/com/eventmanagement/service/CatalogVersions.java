@@ -0,0 +1,73 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Catalog versions - change stamps behind the ETags of catalog GETs
+// ============================================
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for the event and venue catalogs. Services report writes here and the
+ * stamp moves once the transaction commits; CatalogETagInterceptor turns the stamps into
+ * ETag/Last-Modified so unchanged GETs are answered with 304 before any query runs.
+ * Stamps are epoch milliseconds that only move forward, so they double as Last-Modified.
+ * They start at boot time, which invalidates every client copy after a restart.
+ */
+@Component
+public class CatalogVersions {
+
+    /** Any event row or its ticketsLeft changed. */
+    private final AtomicLong events = new AtomicLong(System.currentTimeMillis());
+    /** Any venue row changed. */
+    private final AtomicLong venues = new AtomicLong(System.currentTimeMillis());
+    /** Venue or user data copied into EventDTO (venueName, organizerName) changed. */
+    private final AtomicLong shared = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Long> eventVersions = new ConcurrentHashMap<>();
+    private final long bootStamp = System.currentTimeMillis();
+
+    public long events() {
+        return Math.max(events.get(), shared.get());
+    }
+
+    public long event(Long eventId) {
+        return Math.max(eventVersions.getOrDefault(eventId, bootStamp), shared.get());
+    }
+
+    public long venues() {
+        return venues.get();
+    }
+
+    /** Created, updated, booked or deleted; deleted ids keep their stamp so old copies stay stale. */
+    public void eventChanged(Long eventId) {
+        TransactionHooks.afterCommit(() -> {
+            long stamp = next(events);
+            eventVersions.merge(eventId, stamp, Math::max);
+        });
+    }
+
+    /** New events only (bulk import): no existing detail response changes, just the listings. */
+    public void eventsAdded() {
+        TransactionHooks.afterCommit(() -> next(events));
+    }
+
+    public void venueChanged() {
+        TransactionHooks.afterCommit(() -> {
+            next(venues);
+            next(shared);
+        });
+    }
+
+    public void userChanged() {
+        TransactionHooks.afterCommit(() -> next(shared));
+    }
+
+    /** Next stamp: the current time, or one past the previous stamp if the clock has not moved. */
+    private static long next(AtomicLong version) {
+        long now = System.currentTimeMillis();
+        return version.updateAndGet(prev -> Math.max(prev + 1, now));
+    }
+}
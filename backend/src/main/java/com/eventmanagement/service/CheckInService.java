@@ -0,0 +1,447 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Check-in service - in-memory door scanning with batched write-back
+// ============================================
+
+import com.eventmanagement.dto.CheckInDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.security.SecurityUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Door check-in. An event's ticket codes are loaded once into a {@link Gate}: a Bloom
+ * filter that turns away unknown codes without a table probe, and an open-addressing
+ * table of 64-bit code fingerprints with one check-in timestamp per slot. A scan admits
+ * the ticket by CAS-ing that timestamp from 0, so concurrent scans of the same code admit
+ * it exactly once. Check-ins are written to registrations.checked_in_at in batches.
+ * Bookings made after the gate was loaded are added to it after commit.
+ * Only valid for a single application instance (like memory-mode TicketInventory).
+ */
+@Slf4j
+@Service
+public class CheckInService {
+
+    private static final String MARK_CHECKED_IN =
+            "UPDATE registrations SET checked_in_at = ? WHERE id = ? AND checked_in_at IS NULL";
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final SecurityUtils securityUtils;
+    private final TicketCodes ticketCodes;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int flushBatchSize;
+
+    private final Map<Long, Gate> gates = new ConcurrentHashMap<>();
+    /** Loads in progress, so concurrent first scans of an event share one gate. */
+    private final Map<Long, CompletableFuture<Gate>> loading = new ConcurrentHashMap<>();
+    /** Pending write-backs as {registrationId, checkedInAt epoch millis}. */
+    private final Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+
+    public CheckInService(EventRepository eventRepository,
+                          RegistrationRepository registrationRepository,
+                          SecurityUtils securityUtils,
+                          TicketCodes ticketCodes,
+                          JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${app.check-in.flush-batch-size:500}") int flushBatchSize) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.securityUtils = securityUtils;
+        this.ticketCodes = ticketCodes;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+    }
+
+    /**
+     * Loads the event's gate, or refreshes a loaded one with bookings and check-ins it has
+     * missed, and returns the number of ticket codes in it. A loaded gate is never replaced,
+     * so admissions not yet written back cannot be lost or repeated.
+     */
+    public int preload(Long eventId) {
+        Long organizerId = checkAccess(eventId, null);
+        Gate loaded = gates.get(eventId);
+        if (loaded == null) {
+            return load(eventId, organizerId).size();
+        }
+        readOnlyTransaction.executeWithoutResult(tx -> streamInto(eventId, loaded));
+        log.info("Check-in gate for event {} refreshed, {} tickets", eventId, loaded.size());
+        return loaded.size();
+    }
+
+    /** Admits the ticket if it belongs to the event and has not been used yet. */
+    public CheckInDTO checkIn(Long eventId, String ticketCode) {
+        Gate gate = gates.get(eventId);
+        if (gate == null) {
+            gate = load(eventId, checkAccess(eventId, null));
+        } else {
+            checkAccess(eventId, gate);
+        }
+        String code = ticketCode.trim();
+        long now = System.currentTimeMillis();
+        // Typos and random strings fail the format / check char test without touching the gate
+        Gate.Scan scan = ticketCodes.isWellFormed(code) ? gate.scan(fingerprint(code), now) : null;
+        if (scan == null) {
+            return CheckInDTO.builder().ticketCode(code).result(CheckInDTO.Result.INVALID).build();
+        }
+        if (scan.admitted()) {
+            pending.add(new long[] {scan.registrationId(), now});
+        }
+        return CheckInDTO.builder()
+                .ticketCode(code)
+                .result(scan.admitted() ? CheckInDTO.Result.ADMITTED : CheckInDTO.Result.ALREADY_CHECKED_IN)
+                .registrationId(scan.registrationId())
+                .checkedInAt(toLocal(scan.checkedInAt()))
+                .build();
+    }
+
+    /** Builds the event's gate once; callers that arrive while it loads wait for the same gate. */
+    private Gate load(Long eventId, Long organizerId) {
+        CompletableFuture<Gate> mine = new CompletableFuture<>();
+        CompletableFuture<Gate> running = loading.putIfAbsent(eventId, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        try {
+            // Another load may have finished between the caller's lookup and taking the slot
+            Gate gate = gates.get(eventId);
+            if (gate == null) {
+                gate = build(eventId, organizerId);
+            }
+            mine.complete(gate);
+            return gate;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(eventId, mine);
+        }
+    }
+
+    private Gate build(Long eventId, Long organizerId) {
+        // Bookings that commit while loading may be missed by the stream and by the after-commit
+        // hook (no gate yet), so anything registered since shortly before the load is read again
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        Gate gate = new Gate(organizerId, Math.max(16, registrationRepository.countByEventId(eventId)));
+        readOnlyTransaction.executeWithoutResult(tx -> streamInto(eventId, gate));
+        gate.seal();
+        gates.put(eventId, gate);
+        readOnlyTransaction.executeWithoutResult(tx ->
+                registrationRepository.findTicketCodesByEventIdRegisteredSince(eventId, since)
+                        .forEach(row -> addRow(gate, row)));
+        log.info("Check-in gate for event {} loaded with {} tickets", eventId, gate.size());
+        return gate;
+    }
+
+    private void streamInto(Long eventId, Gate gate) {
+        try (Stream<Object[]> rows = registrationRepository.streamTicketCodesByEventId(eventId)) {
+            rows.forEach(row -> addRow(gate, row));
+        }
+    }
+
+    /** Adds a booking to the event's gate once the booking commits (no-op if no gate is loaded). */
+    public void registeredAfterCommit(Long eventId, Long registrationId, String ticketCode) {
+        TransactionHooks.afterCommit(() -> {
+            Gate gate = gates.get(eventId);
+            if (gate != null) {
+                gate.add(fingerprint(ticketCode), registrationId, 0);
+            }
+        });
+    }
+
+    /**
+     * Withdraws a cancelled booking's code from the event's gate, so scans answer INVALID.
+     * Returns false if the ticket has already been admitted. The code is put back if the
+     * cancellation does not commit.
+     */
+    public boolean withdraw(Long eventId, String ticketCode) {
+        Gate gate = gates.get(eventId);
+        if (gate == null || ticketCode == null) return true;
+        long fp = fingerprint(ticketCode);
+        if (!gate.withdraw(fp)) return false;
+        TransactionHooks.afterRollback(() -> gate.restore(fp));
+        return true;
+    }
+
+    public void forget(Long eventId) {
+        gates.remove(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.check-in.flush-interval-ms:200}")
+    public void flush() {
+        List<long[]> batch = new ArrayList<>(flushBatchSize);
+        long[] entry;
+        while ((entry = pending.poll()) != null) {
+            batch.add(entry);
+            if (batch.size() == flushBatchSize) {
+                if (!write(batch)) return;
+                batch.clear();
+            }
+        }
+        write(batch);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /** Writes one batch; on failure puts it back for the next flush and returns false. */
+    private boolean write(List<long[]> batch) {
+        if (batch.isEmpty()) return true;
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (long[] entry : batch) {
+            rows.add(new Object[] {new Timestamp(entry[1]), entry[0]});
+        }
+        try {
+            int[] updated = jdbcTemplate.batchUpdate(MARK_CHECKED_IN, rows);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    // Already set in the database: checked in through another instance or before a reload
+                    log.warn("Registration {} was already checked in", batch.get(i)[0]);
+                }
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to write {} check-ins, will retry: {}", batch.size(), ex.getMessage());
+            pending.addAll(batch);
+            return false;
+        }
+    }
+
+    /** Organizer of the event, after checking the caller is that organizer or an admin. */
+    private Long checkAccess(Long eventId, Gate gate) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        Long organizerId;
+        if (gate != null) {
+            organizerId = gate.organizerId;
+        } else {
+            Event event = eventRepository.findByIdWithOrganizer(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+            organizerId = event.getOrganizer().getId();
+        }
+        if (!securityUtils.isAdmin() && !organizerId.equals(currentUserId)) {
+            throw new RuntimeException("Access denied. You can only check in attendees of your own events");
+        }
+        return organizerId;
+    }
+
+    private static void addRow(Gate gate, Object[] row) {
+        String code = (String) row[1];
+        if (code == null) return;
+        LocalDateTime checkedInAt = (LocalDateTime) row[2];
+        gate.add(fingerprint(code), (Long) row[0], checkedInAt != null
+                ? checkedInAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0);
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /** 64-bit FNV-1a of the code, finished with the MurmurHash3 mixer; never 0 (0 marks an empty slot). */
+    static long fingerprint(String code) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : code.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb3fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    /**
+     * One event's codes. The table is filled while loading and not changed afterwards:
+     * fingerprint / registration id / check-in time in parallel arrays (about 24 bytes
+     * per ticket), open addressing at most half full. Codes added later, or beyond the
+     * count seen when loading started, go to a small concurrent map instead.
+     */
+    static final class Gate {
+
+        private static final int BLOOM_BITS_PER_KEY = 10;
+        private static final int BLOOM_HASHES = 7;
+        /** Check-in time that marks a withdrawn (cancelled) code; scans treat it as unknown. */
+        private static final long WITHDRAWN = -1;
+
+        /** {@code admitted} is true only for the scan whose CAS set the check-in time. */
+        record Scan(long registrationId, long checkedInAt, boolean admitted) {
+        }
+
+        private record Late(long registrationId, AtomicLong checkedInAt) {
+        }
+
+        final Long organizerId;
+        private final long[] keys;
+        private final long[] registrationIds;
+        private final AtomicLongArray checkedInAt;
+        private final int mask;
+        /** Sized for twice the expected codes, so later additions keep the false-positive rate low. */
+        private final AtomicLongArray bloom;
+        private final Map<Long, Late> late = new ConcurrentHashMap<>();
+        private int tableSize;
+        private volatile boolean sealed;
+
+        Gate(Long organizerId, int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 4 - 1);
+            this.organizerId = organizerId;
+            this.keys = new long[capacity];
+            this.registrationIds = new long[capacity];
+            this.checkedInAt = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.bloom = new AtomicLongArray((int) (((long) expected * 2 * BLOOM_BITS_PER_KEY + 63) / 64));
+        }
+
+        int size() {
+            return tableSize + late.size();
+        }
+
+        /**
+         * Looks the code up and admits it at {@code now} unless it was already admitted.
+         * Returns null for a code that is not part of the event.
+         */
+        Scan scan(long fp, long now) {
+            if (!mightContain(fp)) return null;
+            for (int i = (int) fp & mask; ; i = (i + 1) & mask) {
+                long key = keys[i];
+                if (key == fp) {
+                    boolean admitted = checkedInAt.compareAndSet(i, 0, now);
+                    long first = admitted ? now : checkedInAt.get(i);
+                    return first == WITHDRAWN ? null : new Scan(registrationIds[i], first, admitted);
+                }
+                if (key == 0) break;
+            }
+            Late entry = late.get(fp);
+            if (entry == null) return null;
+            boolean admitted = entry.checkedInAt().compareAndSet(0, now);
+            long first = admitted ? now : entry.checkedInAt().get();
+            return first == WITHDRAWN ? null : new Scan(entry.registrationId(), first, admitted);
+        }
+
+        /** Marks the code withdrawn unless it was admitted; true if it can no longer be admitted. */
+        boolean withdraw(long fp) {
+            int slot = tableSlot(fp);
+            if (slot >= 0) {
+                return checkedInAt.compareAndSet(slot, 0, WITHDRAWN) || checkedInAt.get(slot) == WITHDRAWN;
+            }
+            Late entry = late.get(fp);
+            return entry == null
+                    || entry.checkedInAt().compareAndSet(0, WITHDRAWN)
+                    || entry.checkedInAt().get() == WITHDRAWN;
+        }
+
+        void restore(long fp) {
+            int slot = tableSlot(fp);
+            if (slot >= 0) {
+                checkedInAt.compareAndSet(slot, WITHDRAWN, 0);
+                return;
+            }
+            Late entry = late.get(fp);
+            if (entry != null) {
+                entry.checkedInAt().compareAndSet(WITHDRAWN, 0);
+            }
+        }
+
+        /**
+         * Adds a code, or records a check-in the database knows about for a code already in
+         * the gate. Before {@link #seal()} only the loading thread may call this.
+         */
+        void add(long fp, long registrationId, long checkedInAtMillis) {
+            int slot = tableSlot(fp);
+            if (slot >= 0) {
+                if (checkedInAtMillis != 0) checkedInAt.compareAndSet(slot, 0, checkedInAtMillis);
+                return;
+            }
+            if (!sealed && (tableSize + 1) * 2 <= keys.length) {
+                int i = (int) fp & mask;
+                while (keys[i] != 0) i = (i + 1) & mask;
+                keys[i] = fp;
+                registrationIds[i] = registrationId;
+                checkedInAt.set(i, checkedInAtMillis);
+                tableSize++;
+            } else {
+                Late existing = late.putIfAbsent(fp, new Late(registrationId, new AtomicLong(checkedInAtMillis)));
+                if (existing != null && checkedInAtMillis != 0) {
+                    existing.checkedInAt().compareAndSet(0, checkedInAtMillis);
+                }
+            }
+            setBloom(fp);
+        }
+
+        /** Ends loading: the table is read-only from now on and later adds go to the late map. */
+        void seal() {
+            sealed = true;
+        }
+
+        private int tableSlot(long fp) {
+            for (int i = (int) fp & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == fp) return i;
+                if (keys[i] == 0) return -1;
+            }
+        }
+
+        private void setBloom(long fp) {
+            long bits = (long) bloom.length() * 64;
+            int h1 = (int) fp;
+            int h2 = (int) (fp >>> 32);
+            for (int k = 0; k < BLOOM_HASHES; k++) {
+                long bit = Math.floorMod(h1 + (long) k * h2, bits);
+                int word = (int) (bit >>> 6);
+                long current;
+                while (((current = bloom.get(word)) & (1L << bit)) == 0
+                        && !bloom.compareAndSet(word, current, current | (1L << bit))) {
+                    // lost a race with another add on the same word; retry
+                }
+            }
+        }
+
+        private boolean mightContain(long fp) {
+            long bits = (long) bloom.length() * 64;
+            int h1 = (int) fp;
+            int h2 = (int) (fp >>> 32);
+            for (int k = 0; k < BLOOM_HASHES; k++) {
+                long bit = Math.floorMod(h1 + (long) k * h2, bits);
+                if ((bloom.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * EVT-{eventId}-{13 base32 chars}{check char}. The 64-bit body is
+ * [41 bits milliseconds since 2024-01-01][13 bits sequence][10 bits node id], taken from
+ * one AtomicLong with a CAS loop, so codes from one node never repeat (the clock may
+ * run ahead by a few ms under bursts, never backwards) and no lock or SecureRandom is
+ * involved. The alphabet is Crockford base32 (no I, L, O, U). The check char is Luhn
+ * mod 32 over the event id and body, which catches any single mistyped char and most
+ * swaps of adjacent chars before a code reaches the database.
+ * Give every instance its own {@code app.ticket-code.node-id} (0-1023); the fallback derived
+ * from the host name can collide, and then only the unique index on ticket_code stops a
+ * duplicate code.
+ */
+@Slf4j
+@Component
+public class CompactTicketCodeGenerator implements TicketCodeGenerator {
+
+    static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    private static final long EPOCH_MS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int SEQUENCE_BITS = 13;
+    private static final int NODE_BITS = 10;
+    private static final int BODY_LENGTH = 13;
+    private static final int BASE = 32;
+
+    private final long node;
+    private final LongSupplier clock;
+    /** Last issued (millis since EPOCH_MS << SEQUENCE_BITS | sequence). */
+    private final AtomicLong last = new AtomicLong();
+
+    @Autowired
+    public CompactTicketCodeGenerator(@Value("${app.ticket-code.node-id:-1}") int nodeId) {
+        this(nodeId >= 0 ? nodeId : defaultNodeId(), System::currentTimeMillis);
+    }
+
+    CompactTicketCodeGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("app.ticket-code.node-id must be between 0 and " + ((1 << NODE_BITS) - 1));
+        }
+        this.node = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String name() {
+        return "compact";
+    }
+
+    @Override
+    public String next(Long eventId) {
+        long now = (clock.getAsLong() - EPOCH_MS) << SEQUENCE_BITS;
+        long prev;
+        long stamp;
+        do {
+            prev = last.get();
+            stamp = Math.max(prev + 1, now);
+        } while (!last.compareAndSet(prev, stamp));
+        long value = (stamp << NODE_BITS) | node;
+
+        String prefix = "EVT-" + eventId + "-";
+        char[] code = new char[prefix.length() + BODY_LENGTH + 1];
+        prefix.getChars(0, prefix.length(), code, 0);
+        for (int i = prefix.length() + BODY_LENGTH - 1; i >= prefix.length(); i--) {
+            code[i] = ALPHABET.charAt((int) (value & (BASE - 1)));
+            value >>>= 5;
+        }
+        code[code.length - 1] = ALPHABET.charAt(checkValue(code, code.length - 1));
+        return new String(code);
+    }
+
+    @Override
+    public boolean matches(String code) {
+        int dash = TicketCodes.eventIdEnd(code);
+        if (dash < 0 || code.length() - dash - 1 != BODY_LENGTH + 1) return false;
+        for (int i = dash + 1; i < code.length(); i++) {
+            if (ALPHABET.indexOf(code.charAt(i)) < 0) return false;
+        }
+        char[] chars = code.toCharArray();
+        return ALPHABET.charAt(checkValue(chars, chars.length - 1)) == chars[chars.length - 1];
+    }
+
+    /** Luhn mod 32 check value over the event id digits and body (chars 4 .. end-1, dashes skipped). */
+    private static int checkValue(char[] code, int end) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = end - 1; i >= 4; i--) {
+            if (code[i] == '-') continue;
+            int addend = factor * ALPHABET.indexOf(code[i]);
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / BASE + addend % BASE;
+        }
+        return (BASE - sum % BASE) % BASE;
+    }
+
+    private static int defaultNodeId() {
+        int node;
+        try {
+            node = Math.floorMod(InetAddress.getLocalHost().getHostName().hashCode(), 1 << NODE_BITS);
+        } catch (Exception ex) {
+            node = 0;
+        }
+        log.warn("app.ticket-code.node-id not set; using {} derived from the host name. "
+                + "Set it explicitly when running more than one instance.", node);
+        return node;
+    }
+}
@@ -0,0 +1,164 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Dashboard counters - in-memory stats kept up to date on writes
+// ============================================
+
+import com.eventmanagement.dto.DashboardStatsDTO;
+import com.eventmanagement.entity.Event.EventStatus;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Counters behind GET /dashboard/stats. Services report writes here and each change
+ * is applied once its transaction commits, so the stats never need a DB round trip.
+ * Deletes cascade to related rows, so they only mark the counters stale; a background
+ * recount then replaces them. A scheduled recount also corrects any drift (e.g. from
+ * DataSeeder or manual SQL). Recounts run without a lock and swap in a fresh set of
+ * counters, so writers never wait on them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounters {
+
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final UserRepository userRepository;
+    private final RegistrationRepository registrationRepository;
+
+    /** Null until the first recount; increments before it are part of what it counts. */
+    private final AtomicReference<Counts> counts = new AtomicReference<>();
+    private volatile boolean stale;
+
+    public DashboardStatsDTO snapshot() {
+        Counts current = counts.get();
+        if (current == null) {
+            current = recount();
+        }
+        Map<EventStatus, Long> byStatus = new EnumMap<>(EventStatus.class);
+        long eventTotal = 0;
+        for (Map.Entry<EventStatus, LongAdder> entry : current.eventsByStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(entry.getKey(), count);
+            eventTotal += count;
+        }
+        return DashboardStatsDTO.builder()
+                .eventCount(eventTotal)
+                .venueCount(current.venues.sum())
+                .userCount(current.users.sum())
+                .publishedEventCount(byStatus.get(EventStatus.PUBLISHED))
+                .eventCountByStatus(byStatus)
+                .bookingCount(current.bookings.sum())
+                .grossRevenue(current.grossRevenue.sum())
+                .build();
+    }
+
+    public void eventCreated(EventStatus status) {
+        update(c -> c.eventsByStatus.get(status).increment());
+    }
+
+    public void eventStatusChanged(EventStatus from, EventStatus to) {
+        if (from == to) return;
+        update(c -> {
+            c.eventsByStatus.get(from).decrement();
+            c.eventsByStatus.get(to).increment();
+        });
+    }
+
+    public void venueCreated() {
+        update(c -> c.venues.increment());
+    }
+
+    public void userCreated() {
+        update(c -> c.users.increment());
+    }
+
+    public void bookingCreated(int numberOfTickets, Double ticketPrice) {
+        double amount = (ticketPrice != null ? ticketPrice : 0) * numberOfTickets;
+        update(c -> {
+            c.bookings.increment();
+            c.grossRevenue.add(amount);
+        });
+    }
+
+    public void bookingCancelled(int numberOfTickets, Double ticketPrice) {
+        double amount = (ticketPrice != null ? ticketPrice : 0) * numberOfTickets;
+        update(c -> {
+            c.bookings.decrement();
+            c.grossRevenue.add(-amount);
+        });
+    }
+
+    /** For deletes, whose cascades are not visible here: recount in the background after commit. */
+    public void reconcileAfterCommit() {
+        TransactionHooks.afterCommit(() -> stale = true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.stale-check-interval-ms:1000}")
+    public void reconcileIfStale() {
+        if (stale) {
+            stale = false;
+            recount();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        recount();
+    }
+
+    /**
+     * Counts everything from the database and replaces the counters. A write that commits
+     * while the queries run may be missed; the next recount picks it up.
+     */
+    private Counts recount() {
+        Counts fresh = new Counts();
+        for (Object[] row : eventRepository.countGroupedByStatus()) {
+            if (row[0] != null) fresh.eventsByStatus.get((EventStatus) row[0]).add(((Number) row[1]).longValue());
+        }
+        fresh.venues.add(venueRepository.count());
+        fresh.users.add(userRepository.count());
+        fresh.bookings.add(registrationRepository.count());
+        fresh.grossRevenue.add(registrationRepository.sumGrossRevenue());
+        counts.set(fresh);
+        log.debug("Dashboard counters reconciled.");
+        return fresh;
+    }
+
+    private void update(Consumer<Counts> change) {
+        TransactionHooks.afterCommit(() -> {
+            Counts current = counts.get();
+            if (current != null) {
+                change.accept(current);
+            }
+        });
+    }
+
+    private static final class Counts {
+        private final Map<EventStatus, LongAdder> eventsByStatus = new EnumMap<>(EventStatus.class);
+        private final LongAdder venues = new LongAdder();
+        private final LongAdder users = new LongAdder();
+        private final LongAdder bookings = new LongAdder();
+        private final DoubleAdder grossRevenue = new DoubleAdder();
+
+        Counts() {
+            for (EventStatus status : EventStatus.values()) {
+                eventsByStatus.put(status, new LongAdder());
+            }
+        }
+    }
+}
@@ -1,29 +1,53 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.config.SecondLevelCacheConfig;
+import com.eventmanagement.dto.CacheStatsDTO;
 import com.eventmanagement.dto.DashboardStatsDTO;
-import com.eventmanagement.entity.Event.EventStatus;
-import com.eventmanagement.repository.EventRepository;
-import com.eventmanagement.repository.UserRepository;
-import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.security.SecurityUtils;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final EventRepository eventRepository;
-    private final VenueRepository venueRepository;
-    private final UserRepository userRepository;
+    private final DashboardCounters dashboardCounters;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SecurityUtils securityUtils;
 
-    @Transactional(readOnly = true)
     public DashboardStatsDTO getStats() {
-        return DashboardStatsDTO.builder()
-                .eventCount(eventRepository.count())
-                .venueCount(venueRepository.count())
-                .userCount(userRepository.count())
-                .publishedEventCount(eventRepository.countByStatus(EventStatus.PUBLISHED))
-                .build();
+        return dashboardCounters.snapshot();
+    }
+
+    /** Per-region second-level cache statistics; empty when the cache is disabled. Admin only. */
+    public List<CacheStatsDTO> getCacheStats() {
+        if (!securityUtils.isAdmin()) {
+            throw new RuntimeException("Access denied");
+        }
+        List<CacheStatsDTO> result = new ArrayList<>();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            result.add(CacheStatsDTO.builder()
+                    .region(region)
+                    .hits(stats.getHitCount())
+                    .misses(stats.getMissCount())
+                    .puts(stats.getPutCount())
+                    .hitRatio(lookups > 0 ? (double) stats.getHitCount() / lookups : 0)
+                    .entries(stats.getElementCountInMemory())
+                    .build());
+        }
+        return result;
     }
 }
@@ -0,0 +1,428 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Event import - streaming bulk create from CSV / NDJSON
+// ============================================
+
+import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.dto.ImportResultDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Event.EventStatus;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Venue;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.security.SecurityUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates events in bulk from a streamed CSV or NDJSON body. Rows are validated like
+ * {@link EventService#create} but venue conflicts are checked against per-venue interval
+ * trees held for the duration of the import (so rows also conflict with each other), and
+ * events and tickets are written with JDBC batches, one transaction per chunk.
+ * A bad row is reported and skipped; it never fails the rest of the import.
+ */
+@Slf4j
+@Service
+public class EventImportService {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO events (name, description, start_date, end_date, location, status, max_attendees, "
+                    + "ticket_price, created_at, updated_at, venue_id, organizer_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TICKET =
+            "INSERT INTO tickets (event_id, event_name, max_tickets, tickets_left) VALUES (?, ?, ?, ?)";
+
+    private final VenueRepository venueRepository;
+    private final EventRepository eventRepository;
+    private final EventSearchIndex eventSearchIndex;
+    private final VenueSchedule venueSchedule;
+    private final DashboardCounters dashboardCounters;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
+    private final SecurityUtils securityUtils;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public EventImportService(VenueRepository venueRepository,
+                              EventRepository eventRepository,
+                              EventSearchIndex eventSearchIndex,
+                              VenueSchedule venueSchedule,
+                              DashboardCounters dashboardCounters,
+                              CatalogVersions catalogVersions,
+                              UpcomingEventsFeed upcomingEventsFeed,
+                              SecurityUtils securityUtils,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.import.batch-size:1000}") int batchSize,
+                              @Value("${app.import.max-reported-errors:500}") int maxReportedErrors) {
+        this.venueRepository = venueRepository;
+        this.eventRepository = eventRepository;
+        this.eventSearchIndex = eventSearchIndex;
+        this.venueSchedule = venueSchedule;
+        this.dashboardCounters = dashboardCounters;
+        this.catalogVersions = catalogVersions;
+        this.upcomingEventsFeed = upcomingEventsFeed;
+        this.securityUtils = securityUtils;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /** Parsed data row; exactly one of dto and error is set. */
+    private record Row(long number, EventDTO dto, String error) {
+    }
+
+    /** A validated row waiting to be written. */
+    private record Pending(long number, Event event) {
+    }
+
+    private static final class CsvFormatException extends IOException {
+        CsvFormatException(String message) {
+            super(message);
+        }
+    }
+
+    private interface RowSource {
+        /** Next row, or null at the end of the input. */
+        Row next() throws IOException;
+    }
+
+    /** Imports every row of a CSV (with header) or NDJSON body owned by the current organizer. */
+    public ImportResultDTO importEvents(InputStream body, boolean ndjson) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        if (!securityUtils.isOrganizer() && !securityUtils.isAdmin()) {
+            throw new RuntimeException("Only organizers can create events");
+        }
+
+        ImportResultDTO result = new ImportResultDTO();
+        Map<Long, Optional<Venue>> venues = new HashMap<>();
+        Map<Long, VenueSchedule.IntervalTree> schedules = new HashMap<>();
+        List<Pending> chunk = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowSource source = ndjson ? ndjsonSource(reader) : csvSource(reader);
+            Row row;
+            while ((row = source.next()) != null) {
+                String error = row.error() != null
+                        ? row.error()
+                        : stage(row, currentUser, venues, schedules, chunk);
+                if (error != null) {
+                    fail(result, row.number(), error);
+                    continue;
+                }
+                if (chunk.size() == batchSize) {
+                    write(chunk, schedules, result);
+                }
+            }
+            write(chunk, schedules, result);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read import body", ex);
+        }
+        log.info("Event import by user {}: {} imported, {} failed", currentUser.getId(),
+                result.getImported(), result.getFailed());
+        return result;
+    }
+
+    /** Checks one row and queues it on the chunk; returns the error message if it is rejected. */
+    private String stage(Row row, User organizer, Map<Long, Optional<Venue>> venues,
+                         Map<Long, VenueSchedule.IntervalTree> schedules, List<Pending> chunk) {
+        EventDTO dto = row.dto();
+        if (dto.getName() == null || dto.getName().isBlank()) return "Event name is required";
+        if (dto.getStartDate() == null) return "Start date is required";
+        if (dto.getEndDate() == null) return "End date is required";
+        if (dto.getEndDate().isBefore(dto.getStartDate())) return "End date must not be before start date";
+
+        Event event = Event.builder()
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .startDate(dto.getStartDate())
+                .endDate(dto.getEndDate())
+                .location(dto.getLocation())
+                .status(dto.getStatus() != null ? dto.getStatus() : EventStatus.DRAFT)
+                .maxAttendees(dto.getMaxAttendees())
+                .ticketPrice(dto.getTicketPrice())
+                .organizer(organizer)
+                .build();
+
+        if (dto.getVenueId() != null) {
+            Venue venue = venues.computeIfAbsent(dto.getVenueId(), venueRepository::findById).orElse(null);
+            if (venue == null) return "Venue not found: " + dto.getVenueId();
+            event.setVenue(venue);
+            if (venue.getAddress() != null && venue.getCity() != null) {
+                event.setLocation(venue.getAddress() + ", " + venue.getCity() +
+                        (venue.getState() != null ? ", " + venue.getState() : ""));
+            }
+            if (venue.getCapacity() != null) {
+                event.setMaxAttendees(venue.getCapacity());
+            }
+
+            VenueSchedule.IntervalTree booked = schedules.computeIfAbsent(venue.getId(), this::loadSchedule);
+            long start = VenueSchedule.toEpoch(event.getStartDate());
+            long end = VenueSchedule.toEpoch(event.getEndDate());
+            boolean free = !booked.overlaps(start, end, null)
+                    && (!venueSchedule.isEnabled() || venueSchedule.isFree(venue.getId(), event.getStartDate(), event.getEndDate(), null));
+            if (!free) return "Venue is already booked for this time period";
+            if (event.getStatus() != EventStatus.CANCELLED) {
+                // Negative row number: imported rows never clash with real event ids in the tree
+                booked.insert(start, end, -row.number());
+            }
+        }
+        chunk.add(new Pending(row.number(), event));
+        return null;
+    }
+
+    /**
+     * Rows already imported at the venue, plus (in database schedule mode) its existing
+     * events. In memory mode VenueSchedule already holds the existing events.
+     */
+    private VenueSchedule.IntervalTree loadSchedule(Long venueId) {
+        VenueSchedule.IntervalTree tree = new VenueSchedule.IntervalTree();
+        if (!venueSchedule.isEnabled()) {
+            for (Event existing : eventRepository.findByVenueId(venueId)) {
+                if (existing.getStatus() != EventStatus.CANCELLED) {
+                    tree.insert(VenueSchedule.toEpoch(existing.getStartDate()),
+                            VenueSchedule.toEpoch(existing.getEndDate()), existing.getId());
+                }
+            }
+        }
+        return tree;
+    }
+
+    /** Writes the chunk in one transaction; if that fails every row of the chunk is reported. */
+    private void write(List<Pending> chunk, Map<Long, VenueSchedule.IntervalTree> schedules, ImportResultDTO result) {
+        if (chunk.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> insert(chunk));
+            result.setImported(result.getImported() + chunk.size());
+        } catch (RuntimeException ex) {
+            log.warn("Event import chunk of {} rows failed: {}", chunk.size(), ex.getMessage());
+            for (Pending pending : chunk) {
+                Event event = pending.event();
+                if (event.getVenue() != null) {
+                    schedules.get(event.getVenue().getId()).delete(-pending.number());
+                }
+                fail(result, pending.number(), "Could not save row: " + ex.getMessage());
+            }
+        }
+        chunk.clear();
+    }
+
+    private void insert(List<Pending> chunk) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_EVENT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Event e = chunk.get(i).event();
+                        ps.setString(1, e.getName());
+                        ps.setString(2, e.getDescription());
+                        ps.setTimestamp(3, Timestamp.valueOf(e.getStartDate()));
+                        ps.setTimestamp(4, Timestamp.valueOf(e.getEndDate()));
+                        ps.setString(5, e.getLocation());
+                        ps.setString(6, e.getStatus().name());
+                        ps.setObject(7, e.getMaxAttendees(), Types.INTEGER);
+                        ps.setObject(8, e.getTicketPrice(), Types.DOUBLE);
+                        ps.setTimestamp(9, now);
+                        ps.setTimestamp(10, now);
+                        ps.setObject(11, e.getVenue() != null ? e.getVenue().getId() : null, Types.BIGINT);
+                        ps.setLong(12, e.getOrganizer().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != chunk.size()) {
+            throw new IllegalStateException("Expected " + chunk.size() + " generated ids, got " + keyList.size());
+        }
+        List<Object[]> tickets = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Event event = chunk.get(i).event();
+            event.setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+            event.setCreatedAt(now.toLocalDateTime());
+            event.setUpdatedAt(now.toLocalDateTime());
+            int max = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
+            tickets.add(new Object[] {event.getId(), event.getName(), max, max});
+
+            eventSearchIndex.indexAfterCommit(event);
+            venueSchedule.putAfterCommit(event);
+            dashboardCounters.eventCreated(event.getStatus());
+        }
+        jdbcTemplate.batchUpdate(INSERT_TICKET, tickets);
+        catalogVersions.eventsAdded();
+        upcomingEventsFeed.invalidateAfterCommit();
+    }
+
+    private void fail(ImportResultDTO result, long rowNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResultDTO.RowError(rowNumber, message));
+        }
+    }
+
+    private RowSource ndjsonSource(BufferedReader reader) {
+        long[] lineNumber = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+                lineNumber[0]++;
+            } while (line.isBlank());
+            try {
+                return new Row(lineNumber[0], objectMapper.readValue(line, EventDTO.class), null);
+            } catch (JsonProcessingException ex) {
+                return new Row(lineNumber[0], null, "Invalid JSON: " + ex.getOriginalMessage());
+            }
+        };
+    }
+
+    private RowSource csvSource(BufferedReader reader) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        long[] rowNumber = {0};
+        boolean[] broken = {false};
+        return () -> {
+            if (broken[0]) return null;
+            List<String> record;
+            do {
+                try {
+                    record = readCsvRecord(reader);
+                } catch (CsvFormatException ex) {
+                    // The rest of the input cannot be split into records reliably
+                    broken[0] = true;
+                    return new Row(rowNumber[0] + 1, null, ex.getMessage());
+                }
+                if (record == null) return null;
+                rowNumber[0]++;
+            } while (record.size() == 1 && record.get(0).isBlank());
+            try {
+                return new Row(rowNumber[0], toDTO(record, columns), null);
+            } catch (RuntimeException ex) {
+                return new Row(rowNumber[0], null, ex.getMessage());
+            }
+        };
+    }
+
+    private static EventDTO toDTO(List<String> record, Map<String, Integer> columns) {
+        String status = field(record, columns, "status");
+        String maxAttendees = field(record, columns, "maxattendees");
+        String ticketPrice = field(record, columns, "ticketprice");
+        String venueId = field(record, columns, "venueid");
+        String startDate = field(record, columns, "startdate");
+        String endDate = field(record, columns, "enddate");
+        try {
+            return EventDTO.builder()
+                    .name(field(record, columns, "name"))
+                    .description(field(record, columns, "description"))
+                    .startDate(startDate != null ? LocalDateTime.parse(startDate) : null)
+                    .endDate(endDate != null ? LocalDateTime.parse(endDate) : null)
+                    .location(field(record, columns, "location"))
+                    .status(status != null ? EventStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null)
+                    .maxAttendees(maxAttendees != null ? Integer.valueOf(maxAttendees) : null)
+                    .ticketPrice(ticketPrice != null ? Double.valueOf(ticketPrice) : null)
+                    .venueId(venueId != null ? Long.valueOf(venueId) : null)
+                    .build();
+        } catch (DateTimeParseException ex) {
+            throw new RuntimeException("Invalid date (expected yyyy-MM-ddTHH:mm[:ss]): " + ex.getParsedString());
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid value: " + ex.getMessage());
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /** Reads one RFC 4180 record (quoted fields may contain commas, quotes and newlines); null at EOF. */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new CsvFormatException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,239 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Event search index - in-memory inverted index over name, description, location
+// ============================================
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Event.EventStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incrementally maintained search index used when {@code app.search.mode=index}.
+ * Words from name, description and location go into one inverted index; names are
+ * also indexed by trigrams so substring matches on the name (the old LIKE behaviour)
+ * still work, short terms included. Multi-term queries match events that contain every
+ * term and are ranked by where the terms were found (name > location > description).
+ * Built at startup by EventSearchIndexLoader and updated by EventService after commit.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int NAME_SUBSTRING_SCORE = 3;
+    private static final int NAME_WORD_BONUS = 1;
+    private static final int LOCATION_SCORE = 2;
+    private static final int DESCRIPTION_SCORE = 1;
+
+    private record Doc(Long id, String name, Set<String> nameWords, Set<String> descriptionWords,
+                       Set<String> locationWords, EventStatus status, Long organizerId) {
+    }
+
+    private final boolean enabled;
+    private final int maxResults;
+
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> words = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> nameGrams = new ConcurrentHashMap<>();
+
+    public EventSearchIndex(@Value("${app.search.mode:database}") String mode,
+                            @Value("${app.search.max-results:500}") int maxResults) {
+        this.enabled = "index".equalsIgnoreCase(mode);
+        this.maxResults = maxResults;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    /** Adds or replaces the event in the index immediately. */
+    public void index(Event event) {
+        if (!enabled) return;
+        put(toDoc(event));
+    }
+
+    /** Indexes the event's current state once the surrounding transaction commits. */
+    public void indexAfterCommit(Event event) {
+        if (!enabled) return;
+        Doc doc = toDoc(event);
+        TransactionHooks.afterCommit(() -> put(doc));
+    }
+
+    public void removeAfterCommit(Long eventId) {
+        if (!enabled) return;
+        TransactionHooks.afterCommit(() -> remove(eventId));
+    }
+
+    /**
+     * Ids of events matching every term of the query, best match first. Only events
+     * visible to the caller are returned: all when seeAll, otherwise published ones
+     * plus those organized by viewerId. status, if given, restricts the result.
+     */
+    public List<Long> search(String query, EventStatus status, boolean seeAll, Long viewerId) {
+        List<String> terms = new ArrayList<>(new HashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Only the rarest term's postings are walked; other terms are checked per candidate.
+        // A term shorter than a trigram has no postings for name substrings, so it can never
+        // be the one walked; a query made only of such terms looks at every event.
+        String rarest = null;
+        int rarestSize = Integer.MAX_VALUE;
+        for (String term : terms) {
+            if (term.length() < GRAM) continue;
+            int size = words.getOrDefault(term, Collections.emptySet()).size() + smallestGramPostings(term).size();
+            if (size < rarestSize) {
+                rarest = term;
+                rarestSize = size;
+            }
+        }
+        Set<Long> candidates;
+        if (rarest == null) {
+            candidates = docs.keySet();
+        } else {
+            candidates = new HashSet<>(words.getOrDefault(rarest, Collections.emptySet()));
+            candidates.addAll(smallestGramPostings(rarest));
+        }
+
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Long id : candidates) {
+            Doc doc = docs.get(id);
+            if (doc == null || !visible(doc, status, seeAll, viewerId)) continue;
+            int total = 0;
+            for (String term : terms) {
+                int score = score(doc, term);
+                if (score == 0) {
+                    total = 0;
+                    break;
+                }
+                total += score;
+            }
+            if (total > 0) {
+                scores.put(id, total);
+            }
+        }
+        List<Long> ids = new ArrayList<>(scores.keySet());
+        ids.sort(Comparator.<Long>comparingInt(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+        return ids.size() > maxResults ? ids.subList(0, maxResults) : ids;
+    }
+
+    /** Smallest trigram posting set of the term: a superset of events whose name contains it. */
+    private Set<Long> smallestGramPostings(String term) {
+        if (term.length() < GRAM) {
+            return Collections.emptySet();
+        }
+        Set<Long> smallest = null;
+        for (String gram : grams(term)) {
+            Set<Long> postings = nameGrams.get(gram);
+            if (postings == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        return smallest != null ? smallest : Collections.emptySet();
+    }
+
+    private static int score(Doc doc, String term) {
+        int score = 0;
+        if (doc.name().contains(term)) {
+            score += NAME_SUBSTRING_SCORE;
+            if (doc.nameWords().contains(term)) score += NAME_WORD_BONUS;
+        }
+        if (doc.locationWords().contains(term)) score += LOCATION_SCORE;
+        if (doc.descriptionWords().contains(term)) score += DESCRIPTION_SCORE;
+        return score;
+    }
+
+    private static boolean visible(Doc doc, EventStatus status, boolean seeAll, Long viewerId) {
+        if (status != null && doc.status() != status) return false;
+        return seeAll || doc.status() == EventStatus.PUBLISHED
+                || (viewerId != null && viewerId.equals(doc.organizerId()));
+    }
+
+    private synchronized void put(Doc doc) {
+        removeInternal(doc.id());
+        docs.put(doc.id(), doc);
+        for (String word : allWords(doc)) {
+            words.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(doc.id());
+        }
+        for (String gram : grams(doc.name())) {
+            nameGrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(doc.id());
+        }
+    }
+
+    public synchronized void remove(Long eventId) {
+        removeInternal(eventId);
+    }
+
+    private void removeInternal(Long eventId) {
+        Doc old = docs.remove(eventId);
+        if (old == null) return;
+        for (String word : allWords(old)) {
+            removePosting(words, word, eventId);
+        }
+        for (String gram : grams(old.name())) {
+            removePosting(nameGrams, gram, eventId);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long eventId) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(eventId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<String> allWords(Doc doc) {
+        Set<String> all = new HashSet<>(doc.nameWords());
+        all.addAll(doc.descriptionWords());
+        all.addAll(doc.locationWords());
+        return all;
+    }
+
+    private static Doc toDoc(Event event) {
+        String name = event.getName() != null ? event.getName().toLowerCase(Locale.ROOT) : "";
+        return new Doc(
+                event.getId(),
+                name,
+                new HashSet<>(tokenize(name)),
+                new HashSet<>(tokenize(event.getDescription())),
+                new HashSet<>(tokenize(event.getLocation())),
+                event.getStatus(),
+                event.getOrganizer() != null ? event.getOrganizer().getId() : null);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -5,6 +5,7 @@ package com.eventmanagement.service;
 // ============================================
 
 import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.dto.PageDTO;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.entity.Event.EventStatus;
 import com.eventmanagement.entity.User;
@@ -16,12 +17,15 @@ import com.eventmanagement.repository.VenueRepository;
 import com.eventmanagement.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,47 +34,48 @@ public class EventService {
     private final EventRepository eventRepository;
     private final VenueRepository venueRepository;
     private final TicketRepository ticketRepository;
+    private final TicketInventory ticketInventory;
+    private final CheckInService checkInService;
+    private final EventSearchIndex eventSearchIndex;
+    private final DashboardCounters dashboardCounters;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
+    private final VenueSchedule venueSchedule;
+    private final WaitlistService waitlistService;
     private final SecurityUtils securityUtils;
 
+    /** Lower bound for the first keyset page (earlier than any stored startDate). */
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1000, 1, 1, 0, 0);
+
     @Transactional(readOnly = true)
     public List<EventDTO> findAll() {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         // ADMIN sees all, ORGANIZER sees their own + all published, ATTENDEE sees only published
         if (securityUtils.isAdmin()) {
-            return eventRepository.findAll().stream()
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return toDTOs(eventRepository.findAll());
         } else if (securityUtils.isOrganizer()) {
-            List<Event> allEvents = eventRepository.findAll();
-            return allEvents.stream()
-                    .filter(e -> e.getOrganizer().getId().equals(currentUser.getId()) || e.getStatus() == EventStatus.PUBLISHED)
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return toDTOs(eventRepository.findVisibleToOrganizer(currentUserId));
         } else {
-            return eventRepository.findByStatus(EventStatus.PUBLISHED).stream()
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return toDTOs(eventRepository.findByStatus(EventStatus.PUBLISHED));
         }
     }
 
     @Transactional(readOnly = true)
     public List<EventDTO> findByOrganizer(Long organizerId) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         // If organizerId is null, use current user's ID (for "my events")
-        Long targetOrganizerId = organizerId != null ? organizerId : currentUser.getId();
+        Long targetOrganizerId = organizerId != null ? organizerId : currentUserId;
         // Only ADMIN or the organizer themselves can view organizer's events
-        if (!securityUtils.isAdmin() && !currentUser.getId().equals(targetOrganizerId)) {
+        if (!securityUtils.isAdmin() && !currentUserId.equals(targetOrganizerId)) {
             throw new RuntimeException("Access denied");
         }
-        return eventRepository.findByOrganizerId(targetOrganizerId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(eventRepository.findByOrganizerId(targetOrganizerId));
     }
 
     @Transactional(readOnly = true)
@@ -82,56 +87,104 @@ public class EventService {
 
     @Transactional(readOnly = true)
     public List<EventDTO> findByStatus(EventStatus status) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
-        List<Event> events = eventRepository.findByStatus(status);
         // ADMIN sees all, ORGANIZER sees their own + published, ATTENDEE sees only published
         if (securityUtils.isAdmin()) {
-            return events.stream().map(this::toDTO).collect(Collectors.toList());
+            return toDTOs(eventRepository.findByStatus(status));
         } else if (securityUtils.isOrganizer()) {
-            return events.stream()
-                    .filter(e -> e.getOrganizer().getId().equals(currentUser.getId()) || e.getStatus() == EventStatus.PUBLISHED)
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return toDTOs(eventRepository.findByStatusVisibleToOrganizer(status, currentUserId));
+        } else if (status == EventStatus.PUBLISHED) {
+            return toDTOs(eventRepository.findByStatus(EventStatus.PUBLISHED));
         } else {
-            // ATTENDEE - only published
-            return events.stream()
-                    .filter(e -> e.getStatus() == EventStatus.PUBLISHED)
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            // ATTENDEE - nothing outside published is visible
+            return new ArrayList<>();
         }
     }
 
+    /**
+     * Keyset page of visible events ordered by (startDate, id). Cost stays constant at
+     * deep pages because the cursor seeks in the index instead of skipping rows.
+     */
     @Transactional(readOnly = true)
+    public PageDTO<EventDTO> findPage(EventStatus status, String search, String cursor, Integer limit) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = KeysetCursor.clampLimit(limit);
+        String namePattern = search != null && !search.isBlank()
+                ? "%" + escapeLike(search.trim().toLowerCase()) + "%"
+                : "%";
+        List<Event> rows = eventRepository.findPageAfter(
+                status != null ? List.of(status) : List.of(EventStatus.values()),
+                namePattern,
+                securityUtils.isAdmin(),
+                securityUtils.isOrganizer() ? currentUserId : -1L,
+                after != null ? after.position() : KEYSET_START,
+                after != null ? after.id() : 0L,
+                PageRequest.of(0, size + 1));
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Event last = rows.get(size - 1);
+            next = new KeysetCursor(last.getStartDate(), last.getId()).encode();
+        }
+        return new PageDTO<>(toDTOs(rows), next);
+    }
+
+    /** Makes %, _ and the escape char itself match literally in a LIKE ... ESCAPE '\' pattern. */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // No transaction here: a feed hit must not check out a connection. On a miss the
+    // events (venue and organizer fetched) and tickets are read in one query each.
     public List<EventDTO> findUpcoming(int limit) {
-        return eventRepository.findUpcomingPublished(LocalDateTime.now(), PageRequest.of(0, limit))
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        List<EventDTO> feed = upcomingEventsFeed.upcoming(limit);
+        if (feed != null) {
+            return feed;
+        }
+        return toDTOs(eventRepository.findUpcomingPublished(LocalDateTime.now(), PageRequest.of(0, limit)));
+    }
+
+    /** Every published event that has not started yet; used to rebuild the upcoming feed. */
+    @Transactional(readOnly = true)
+    public List<EventDTO> findAllUpcoming() {
+        return toDTOs(eventRepository.findUpcomingPublished(LocalDateTime.now(), Pageable.unpaged()));
     }
 
     @Transactional(readOnly = true)
     public List<EventDTO> searchByName(String name) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        return searchByName(name, null);
+    }
+
+    /** Name search with an optional status filter; role visibility is applied in the query. */
+    @Transactional(readOnly = true)
+    public List<EventDTO> searchByName(String name, EventStatus status) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
-        List<Event> events = eventRepository.findByNameContainingIgnoreCase(name);
-        // Apply role-based filtering
+        if (eventSearchIndex.isEnabled()) {
+            boolean organizer = securityUtils.isOrganizer();
+            List<Long> ids = eventSearchIndex.search(name, status, securityUtils.isAdmin(),
+                    organizer ? currentUserId : null);
+            return toDTOs(loadInOrder(ids));
+        }
         if (securityUtils.isAdmin()) {
-            return events.stream().map(this::toDTO).collect(Collectors.toList());
+            return toDTOs(status != null
+                    ? eventRepository.findByNameContainingIgnoreCaseAndStatus(name, status)
+                    : eventRepository.findByNameContainingIgnoreCase(name));
         } else if (securityUtils.isOrganizer()) {
-            return events.stream()
-                    .filter(e -> e.getOrganizer().getId().equals(currentUser.getId()) || e.getStatus() == EventStatus.PUBLISHED)
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return toDTOs(eventRepository.searchByNameVisibleToOrganizer(escapeLike(name), status, currentUserId));
+        } else if (status == null || status == EventStatus.PUBLISHED) {
+            return toDTOs(eventRepository.findByNameContainingIgnoreCaseAndStatus(name, EventStatus.PUBLISHED));
         } else {
-            return events.stream()
-                    .filter(e -> e.getStatus() == EventStatus.PUBLISHED)
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return new ArrayList<>();
         }
     }
 
@@ -164,22 +217,26 @@ public class EventService {
             }
             
             // Check for double booking (overlapping events at same venue)
-            List<Event> overlapping = eventRepository.findOverlappingEvents(
-                    venue.getId(), event.getStartDate(), event.getEndDate());
-            if (!overlapping.isEmpty()) {
+            if (!isVenueFree(venue.getId(), event.getStartDate(), event.getEndDate(), null)) {
                 throw new RuntimeException("Venue is already booked for this time period");
             }
         }
         
         event = eventRepository.save(event);
-        createOrUpdateTicket(event);
-        return toDTO(event);
+        createTicket(event);
+        eventSearchIndex.indexAfterCommit(event);
+        venueSchedule.putAfterCommit(event);
+        dashboardCounters.eventCreated(event.getStatus());
+        catalogVersions.eventChanged(event.getId());
+        EventDTO created = toDTO(event);
+        upcomingEventsFeed.putAfterCommit(created);
+        return created;
     }
 
     @Transactional
     public EventDTO update(Long id, EventDTO dto) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         
@@ -187,7 +244,7 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         
         // Only ADMIN or the organizer can update
-        if (!securityUtils.isAdmin() && !event.getOrganizer().getId().equals(currentUser.getId())) {
+        if (!securityUtils.isAdmin() && !event.getOrganizer().getId().equals(currentUserId)) {
             throw new RuntimeException("Access denied. You can only update your own events");
         }
         
@@ -195,6 +252,7 @@ public class EventService {
         event.setDescription(dto.getDescription());
         event.setStartDate(dto.getStartDate());
         event.setEndDate(dto.getEndDate());
+        EventStatus previousStatus = event.getStatus();
         event.setStatus(dto.getStatus() != null ? dto.getStatus() : event.getStatus());
         event.setTicketPrice(dto.getTicketPrice());
         
@@ -215,13 +273,7 @@ public class EventService {
             }
             
             // Check double booking (excluding current event)
-            final Long eventId = event.getId();
-            List<Event> overlapping = eventRepository.findOverlappingEvents(
-                    venue.getId(), event.getStartDate(), event.getEndDate());
-            overlapping = overlapping.stream()
-                    .filter(e -> !e.getId().equals(eventId))
-                    .toList();
-            if (!overlapping.isEmpty()) {
+            if (!isVenueFree(venue.getId(), event.getStartDate(), event.getEndDate(), event.getId())) {
                 throw new RuntimeException("Venue is already booked for this time period");
             }
         } else if (event.getVenue() != null && event.getVenue().getCapacity() != null) {
@@ -230,14 +282,22 @@ public class EventService {
         }
         
         event = eventRepository.save(event);
-        createOrUpdateTicket(event);
-        return toDTO(event);
+        int added = updateTicket(event);
+        // Raised capacity goes to the waitlist first, in this transaction
+        waitlistService.ticketsReturned(event, added);
+        eventSearchIndex.indexAfterCommit(event);
+        venueSchedule.putAfterCommit(event);
+        dashboardCounters.eventStatusChanged(previousStatus, event.getStatus());
+        catalogVersions.eventChanged(event.getId());
+        EventDTO updated = toDTO(event);
+        upcomingEventsFeed.putAfterCommit(updated);
+        return updated;
     }
 
     @Transactional
     public void deleteById(Long id) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         
@@ -245,37 +305,123 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         
         // Only ADMIN or the organizer can delete
-        if (!securityUtils.isAdmin() && !event.getOrganizer().getId().equals(currentUser.getId())) {
+        if (!securityUtils.isAdmin() && !event.getOrganizer().getId().equals(currentUserId)) {
             throw new RuntimeException("Access denied. You can only delete your own events");
         }
         
         ticketRepository.findByEventId(id).ifPresent(ticketRepository::delete);
         eventRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> {
+            ticketInventory.forget(id);
+            checkInService.forget(id);
+        });
+        eventSearchIndex.removeAfterCommit(id);
+        venueSchedule.removeAfterCommit(id);
+        dashboardCounters.reconcileAfterCommit();
+        catalogVersions.eventChanged(id);
+        upcomingEventsFeed.removeAfterCommit(id);
     }
 
-    private void createOrUpdateTicket(Event event) {
+    /** In memory schedule mode a free slot is also held until this transaction completes. */
+    private boolean isVenueFree(Long venueId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        if (venueSchedule.isEnabled()) {
+            return venueSchedule.reserve(venueId, start, end, excludeEventId);
+        }
+        return excludeEventId == null
+                ? !eventRepository.existsOverlappingEvent(venueId, start, end)
+                : !eventRepository.existsOverlappingEventExcluding(venueId, start, end, excludeEventId);
+    }
+
+    private void createTicket(Event event) {
+        int max = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
+        ticketRepository.save(Ticket.builder()
+                .event(event)
+                .eventName(event.getName())
+                .maxTickets(max)
+                .ticketsLeft(ticketInventory.applyCapacity(event.getId(), max, max))
+                .build());
+    }
+
+    /**
+     * Syncs the ticket row with the event's capacity and returns how many tickets were
+     * added by raising it; those are left for the caller to hand out (see WaitlistService).
+     * The row is locked so a concurrent booking cannot be overwritten.
+     */
+    private int updateTicket(Event event) {
         int max = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
         String name = event.getName();
-        ticketRepository.findByEventId(event.getId()).ifPresentOrElse(
-                ticket -> {
-                    ticket.setEventName(name);
-                    ticket.setMaxTickets(max);
-                    ticket.setTicketsLeft(Math.min(ticket.getTicketsLeft(), max));
-                    ticketRepository.save(ticket);
-                },
-                () -> ticketRepository.save(Ticket.builder()
-                        .event(event)
-                        .eventName(name)
-                        .maxTickets(max)
-                        .ticketsLeft(max)
-                        .build())
-        );
+        Ticket ticket = ticketRepository.findByEventIdForUpdate(event.getId()).orElse(null);
+        if (ticket == null) {
+            createTicket(event);
+            return 0;
+        }
+        int added = Math.max(0, max - ticket.getMaxTickets());
+        ticket.setEventName(name);
+        ticket.setMaxTickets(max);
+        ticket.setTicketsLeft(ticketInventory.applyCapacity(event.getId(), max, ticket.getTicketsLeft()));
+        ticketRepository.save(ticket);
+        return added;
+    }
+
+    /**
+     * Maps a list of events with one batched ticket lookup instead of one per event.
+     * Venue and organizer are expected to be fetched with the events (see EventRepository).
+     */
+    private List<EventDTO> toDTOs(List<Event> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> ticketsLeftByEvent = new HashMap<>();
+        List<Long> untracked = new ArrayList<>();
+        for (Event event : events) {
+            Integer left = ticketInventory.ticketsLeft(event.getId());
+            if (left != null) {
+                ticketsLeftByEvent.put(event.getId(), left);
+            } else {
+                untracked.add(event.getId());
+            }
+        }
+        if (!untracked.isEmpty()) {
+            for (Ticket ticket : ticketRepository.findByEventIdIn(untracked)) {
+                ticketsLeftByEvent.put(ticket.getEvent().getId(), ticket.getTicketsLeft());
+            }
+        }
+        List<EventDTO> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(toDTO(event, ticketsLeftByEvent.get(event.getId())));
+        }
+        return dtos;
+    }
+
+    /** Batch-loads events by id, keeping the order of the given ids (e.g. search rank). */
+    private List<Event> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Event> byId = new HashMap<>();
+        for (Event event : eventRepository.findByIdIn(ids)) {
+            byId.put(event.getId(), event);
+        }
+        List<Event> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Event event = byId.get(id);
+            if (event != null) ordered.add(event);
+        }
+        return ordered;
     }
 
     private EventDTO toDTO(Event event) {
-        Integer ticketsLeft = ticketRepository.findByEventId(event.getId())
-                .map(Ticket::getTicketsLeft)
-                .orElse(null);
+        Integer ticketsLeft = ticketInventory.ticketsLeft(event.getId());
+        if (ticketsLeft == null) {
+            ticketsLeft = ticketRepository.findByEventId(event.getId())
+                    .map(Ticket::getTicketsLeft)
+                    .orElse(null);
+        }
+        return toDTO(event, ticketsLeft);
+    }
+
+    // Package-private so the JMH mapping benchmark can call it directly
+    EventDTO toDTO(Event event, Integer ticketsLeft) {
         return EventDTO.builder()
                 .id(event.getId())
                 .name(event.getName())
@@ -0,0 +1,256 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Idempotency service - replay of retried booking requests
+// ============================================
+
+import com.eventmanagement.dto.BookRequest;
+import com.eventmanagement.entity.IdempotencyRecord;
+import com.eventmanagement.repository.IdempotencyRecordRepository;
+import com.eventmanagement.security.SecurityUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for POST /registrations. The first request with a key runs
+ * normally; its response (or business error) is stored in the booking's own transaction
+ * and replayed to every retry with the same key until it expires. A retry that arrives
+ * while the first request is still running waits for it instead of racing it.
+ * Outcomes live in a bounded LRU map and in the idempotency_keys table, so a retry after
+ * a restart (or one that fell out of the map) is still answered from the stored result.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    /** A finished request: a response (status and JSON body) or an error message. */
+    private record Outcome(String fingerprint, Integer status, String body, String error, long expiresAtMillis) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final long waitTimeoutMs;
+
+    private final LinkedHashMap<String, Outcome> outcomes;
+    private final Map<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              SecurityUtils securityUtils,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.idempotency.max-entries:100000}") int maxEntries,
+                              @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.repository = repository;
+        this.securityUtils = securityUtils;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.maxEntries = maxEntries;
+        this.ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.outcomes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+                return size() > IdempotencyService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code booking} once per key and caller, or replays the outcome of the run
+     * that already used the key. Without a key the booking simply runs.
+     */
+    public ResponseEntity<?> execute(String key, BookRequest request, Supplier<ResponseEntity<?>> booking) {
+        if (key == null) {
+            return booking.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        String id = currentUserId + ":" + key;
+        String fingerprint = request.getEventId() + ":" + request.getNumberOfTickets();
+
+        Outcome done = cached(id);
+        if (done != null) {
+            return replay(done, fingerprint);
+        }
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint);
+        }
+        try {
+            // The first request may have finished between the lookup and taking the slot
+            done = cached(id);
+            if (done == null) {
+                done = stored(id);
+            }
+            if (done != null) {
+                mine.complete(done);
+                return replay(done, fingerprint);
+            }
+            return run(id, fingerprint, booking, mine);
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /** Deletes stored outcomes older than the TTL. */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = repository.deleteCreatedBefore(LocalDateTime.now().minus(Duration.ofMillis(ttlMs)));
+        if (removed > 0) {
+            log.debug("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    private ResponseEntity<?> run(String id, String fingerprint, Supplier<ResponseEntity<?>> booking,
+                                  CompletableFuture<Outcome> mine) {
+        long expiresAt = System.currentTimeMillis() + ttlMs;
+        ResponseEntity<?>[] response = new ResponseEntity<?>[1];
+        Outcome succeeded;
+        try {
+            // The outcome commits with the booking, so a crash can never leave one without the other
+            succeeded = transactionTemplate.execute(tx -> {
+                response[0] = booking.get();
+                Outcome outcome = new Outcome(fingerprint, response[0].getStatusCode().value(),
+                        toJson(response[0].getBody()), null, expiresAt);
+                repository.save(IdempotencyRecord.builder()
+                        .id(id)
+                        .fingerprint(fingerprint)
+                        .status(outcome.status())
+                        .body(outcome.body())
+                        .build());
+                return outcome;
+            });
+        } catch (RuntimeException ex) {
+            // Services report business errors (sold out, already booked, ...) as plain
+            // RuntimeExceptions; anything else (database busy, deadlock) is worth retrying
+            if (ex.getClass() != RuntimeException.class) {
+                throw ex;
+            }
+            Outcome failed = new Outcome(fingerprint, null, null, ex.getMessage(), expiresAt);
+            try {
+                repository.save(IdempotencyRecord.builder()
+                        .id(id)
+                        .fingerprint(fingerprint)
+                        .error(ex.getMessage())
+                        .build());
+            } catch (DataAccessException saveFailed) {
+                log.warn("Could not store the failed outcome for idempotency key {}: {}", id, saveFailed.getMessage());
+            }
+            remember(id, failed);
+            mine.complete(failed);
+            throw ex;
+        }
+        remember(id, succeeded);
+        mine.complete(succeeded);
+        return response[0];
+    }
+
+    private Outcome await(CompletableFuture<Outcome> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new RuntimeException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        } catch (ExecutionException ex) {
+            // The original request failed in a way that is not replayed; so does this one
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+
+    private ResponseEntity<?> replay(Outcome outcome, String fingerprint) {
+        if (!outcome.fingerprint().equals(fingerprint)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different booking");
+        }
+        if (outcome.error() != null) {
+            throw new RuntimeException(outcome.error());
+        }
+        return ResponseEntity.status(outcome.status())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outcome.body());
+    }
+
+    private Outcome cached(String id) {
+        synchronized (outcomes) {
+            Outcome outcome = outcomes.get(id);
+            if (outcome != null && outcome.expiresAtMillis() <= System.currentTimeMillis()) {
+                outcomes.remove(id);
+                return null;
+            }
+            return outcome;
+        }
+    }
+
+    /** Outcome persisted by an earlier run (possibly before a restart), if not expired. */
+    private Outcome stored(String id) {
+        IdempotencyRecord record = repository.findById(id).orElse(null);
+        if (record == null) return null;
+        long expiresAt = record.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + ttlMs;
+        if (expiresAt <= System.currentTimeMillis()) {
+            // Not purged yet; the key starts over (createdAt is not updatable)
+            repository.delete(record);
+            return null;
+        }
+        Outcome outcome = new Outcome(record.getFingerprint(), record.getStatus(), record.getBody(), record.getError(), expiresAt);
+        remember(id, outcome);
+        return outcome;
+    }
+
+    private void remember(String id, Outcome outcome) {
+        if (maxEntries <= 0) return;
+        synchronized (outcomes) {
+            outcomes.put(id, outcome);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the booking response", ex);
+        }
+    }
+}
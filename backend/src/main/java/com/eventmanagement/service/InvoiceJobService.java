@@ -0,0 +1,367 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Invoice jobs - bulk invoices per event or month, checkpointed to disk
+// ============================================
+
+import com.eventmanagement.dto.InvoiceJobDTO;
+import com.eventmanagement.dto.InvoiceJobDTO.Status;
+import com.eventmanagement.entity.Registration;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.security.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Writes every invoice of an event and/or month to one NDJSON file. Bookings are read in
+ * keyset chunks by id, so memory holds one chunk at a time; each chunk is rendered on
+ * all cores, appended in id order, forced to disk and then checkpointed. A job that
+ * was interrupted (restart, crash) resumes after its last checkpoint: the file is cut
+ * back to the checkpointed length and reading continues after the last written id.
+ */
+@Slf4j
+@Service
+public class InvoiceJobService {
+
+    /** Fewer rows than this per worker are not worth a task. */
+    private static final int MIN_SLICE = 64;
+    /** registeredAt bounds when the job is not limited to a month. */
+    private static final LocalDateTime ALL_FROM = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime ALL_TO = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path dir;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService jobs;
+    private final ExecutorService workers;
+    /** Jobs running in this instance; each entry is replaced, never mutated, at a checkpoint. */
+    private final Map<String, InvoiceJobDTO> running = new ConcurrentHashMap<>();
+
+    public InvoiceJobService(RegistrationRepository registrationRepository,
+                             EventRepository eventRepository,
+                             SecurityUtils securityUtils,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${app.invoice-job.dir:${java.io.tmpdir}/invoice-jobs}") String dir,
+                             @Value("${app.invoice-job.chunk-size:1000}") int chunkSize,
+                             @Value("${app.invoice-job.parallelism:0}") int parallelism,
+                             @Value("${app.invoice-job.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.securityUtils = securityUtils;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.dir = Path.of(dir);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.jobs = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs), named("invoice-job"));
+        this.workers = Executors.newFixedThreadPool(this.parallelism, named("invoice-render"));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Running jobs keep their last checkpoint and are resumed on the next start
+        jobs.shutdownNow();
+        workers.shutdownNow();
+        jobs.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public InvoiceJobDTO start(Long eventId, String month) {
+        requireAdmin();
+        if (eventId == null && month == null) {
+            throw new RuntimeException("Give an eventId, a month (yyyy-MM) or both");
+        }
+        if (eventId != null && !eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found with id: " + eventId);
+        }
+        if (month != null) {
+            parseMonth(month);
+        }
+        InvoiceJobDTO job = InvoiceJobDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .eventId(eventId)
+                .month(month)
+                .status(Status.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create invoice job directory " + dir, ex);
+        }
+        checkpoint(job);
+        launch(job);
+        return job;
+    }
+
+    public InvoiceJobDTO get(String id) {
+        requireAdmin();
+        return find(id);
+    }
+
+    public InvoiceJobDTO resume(String id) {
+        requireAdmin();
+        InvoiceJobDTO job = find(id);
+        if (job.getStatus() == Status.RUNNING) {
+            throw new RuntimeException("Invoice job is already running");
+        }
+        if (job.getStatus() == Status.COMPLETED) {
+            return job;
+        }
+        return restart(job);
+    }
+
+    /** The finished NDJSON file, one InvoiceDTO per line. */
+    public Path output(String id) {
+        InvoiceJobDTO job = get(id);
+        if (job.getStatus() != Status.COMPLETED) {
+            throw new RuntimeException("Invoice job is not complete");
+        }
+        return outputFile(job.getId());
+    }
+
+    /** Restarts every job whose last checkpoint says it was still running; called once at startup. */
+    public int resumeInterrupted() {
+        if (!Files.isDirectory(dir)) return 0;
+        int resumed = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).toList()) {
+                InvoiceJobDTO job = objectMapper.readValue(file.toFile(), InvoiceJobDTO.class);
+                if (job.getStatus() == Status.RUNNING && !running.containsKey(job.getId())) {
+                    restart(job);
+                    resumed++;
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Could not scan invoice jobs in {}", dir, ex);
+        }
+        return resumed;
+    }
+
+    private InvoiceJobDTO restart(InvoiceJobDTO job) {
+        InvoiceJobDTO next = job.toBuilder()
+                .status(Status.RUNNING)
+                .finishedAt(null)
+                .error(null)
+                .build();
+        checkpoint(next);
+        launch(next);
+        log.info("Resuming invoice job {} after registration {} ({} invoices written)",
+                job.getId(), job.getLastRegistrationId(), job.getInvoicesWritten());
+        return next;
+    }
+
+    private void launch(InvoiceJobDTO job) {
+        if (running.putIfAbsent(job.getId(), job) != null) {
+            throw new RuntimeException("Invoice job is already running");
+        }
+        jobs.execute(() -> run(job));
+    }
+
+    private void run(InvoiceJobDTO job) {
+        YearMonth month = job.getMonth() != null ? parseMonth(job.getMonth()) : null;
+        LocalDateTime from = month != null ? month.atDay(1).atStartOfDay() : ALL_FROM;
+        LocalDateTime to = month != null ? month.plusMonths(1).atDay(1).atStartOfDay() : ALL_TO;
+        InvoiceJobDTO state = job;
+        try (FileChannel out = FileChannel.open(outputFile(job.getId()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (out.size() < state.getBytesWritten()) {
+                throw new IllegalStateException("Output file is shorter than its checkpoint");
+            }
+            // Drop whatever a crashed run wrote after its last checkpoint
+            out.truncate(state.getBytesWritten());
+            out.position(state.getBytesWritten());
+            while (!Thread.currentThread().isInterrupted()) {
+                long after = state.getLastRegistrationId();
+                List<Registration> chunk = readOnlyTransaction.execute(tx -> registrationRepository.findInvoiceChunkAfter(
+                        after, job.getEventId(), from, to, PageRequest.of(0, chunkSize)));
+                if (chunk == null || chunk.isEmpty()) {
+                    state = state.toBuilder().status(Status.COMPLETED).finishedAt(LocalDateTime.now()).build();
+                    break;
+                }
+                ByteBuffer[] parts = render(chunk);
+                long bytes = 0;
+                for (ByteBuffer part : parts) {
+                    bytes += part.remaining();
+                }
+                for (long left = bytes; left > 0; ) {
+                    left -= out.write(parts);
+                }
+                out.force(false);
+                state = state.toBuilder()
+                        .invoicesWritten(state.getInvoicesWritten() + chunk.size())
+                        .lastRegistrationId(chunk.get(chunk.size() - 1).getId())
+                        .bytesWritten(state.getBytesWritten() + bytes)
+                        .build();
+                checkpoint(state);
+                running.put(job.getId(), state);
+            }
+            if (state.getStatus() == Status.COMPLETED) {
+                checkpoint(state);
+                log.info("Invoice job {} completed: {} invoices, {} bytes",
+                        job.getId(), state.getInvoicesWritten(), state.getBytesWritten());
+            }
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                // Shutdown: the last checkpoint still says RUNNING, so the job resumes on the next start
+                Thread.currentThread().interrupt();
+                return;
+            }
+            log.error("Invoice job {} failed after registration {}", job.getId(), state.getLastRegistrationId(), ex);
+            try {
+                checkpoint(state.toBuilder()
+                        .status(Status.FAILED)
+                        .finishedAt(LocalDateTime.now())
+                        .error(ex.getMessage())
+                        .build());
+            } catch (RuntimeException checkpointFailure) {
+                log.error("Could not record failure of invoice job {}", job.getId(), checkpointFailure);
+            }
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    /** Renders a chunk as NDJSON on the worker pool; the parts are returned in id order. */
+    private ByteBuffer[] render(List<Registration> chunk) throws InterruptedException, IOException {
+        int slices = Math.max(1, Math.min(parallelism, chunk.size() / MIN_SLICE));
+        List<Future<ByteBuffer>> futures = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            List<Registration> slice = chunk.subList(i * chunk.size() / slices, (i + 1) * chunk.size() / slices);
+            futures.add(workers.submit(() -> renderSlice(slice)));
+        }
+        ByteBuffer[] parts = new ByteBuffer[slices];
+        try {
+            for (int i = 0; i < slices; i++) {
+                parts[i] = futures.get(i).get();
+            }
+        } catch (ExecutionException ex) {
+            futures.forEach(f -> f.cancel(true));
+            if (ex.getCause() instanceof IOException io) throw io;
+            throw new IllegalStateException("Rendering invoices failed", ex.getCause());
+        }
+        return parts;
+    }
+
+    private ByteBuffer renderSlice(List<Registration> slice) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(slice.size() * 384);
+        for (Registration reg : slice) {
+            buffer.write(objectMapper.writeValueAsBytes(RegistrationService.toInvoice(reg)));
+            buffer.write('\n');
+        }
+        return ByteBuffer.wrap(buffer.toByteArray());
+    }
+
+    private InvoiceJobDTO find(String id) {
+        String jobId = normalizeId(id);
+        InvoiceJobDTO job = running.get(jobId);
+        if (job != null) return job;
+        Path file = checkpointFile(jobId);
+        if (!Files.exists(file)) {
+            throw new RuntimeException("Invoice job not found: " + id);
+        }
+        try {
+            job = objectMapper.readValue(file.toFile(), InvoiceJobDTO.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read invoice job " + id, ex);
+        }
+        if (job.getStatus() == Status.RUNNING) {
+            // Not running here: the process that ran it stopped before finishing
+            job.setStatus(Status.INTERRUPTED);
+        }
+        return job;
+    }
+
+    /** Writes the checkpoint to a temp file and moves it into place, so a crash never leaves half a file. */
+    private void checkpoint(InvoiceJobDTO job) {
+        Path target = checkpointFile(job.getId());
+        Path temp = target.resolveSibling(job.getId() + ".json.tmp");
+        try {
+            Files.write(temp, objectMapper.writeValueAsBytes(job));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write checkpoint of invoice job " + job.getId(), ex);
+        }
+    }
+
+    private Path checkpointFile(String id) {
+        return dir.resolve(id + ".json");
+    }
+
+    private Path outputFile(String id) {
+        return dir.resolve(id + ".ndjson");
+    }
+
+    private void requireAdmin() {
+        if (securityUtils.getCurrentUserId() == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        if (!securityUtils.isAdmin()) {
+            throw new RuntimeException("Access denied. Only administrators can run invoice jobs");
+        }
+    }
+
+    /** Job ids are UUIDs; anything else is rejected before it can become part of a path. */
+    private static String normalizeId(String id) {
+        try {
+            return UUID.fromString(id).toString();
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invoice job not found: " + id);
+        }
+    }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new RuntimeException("month must be in yyyy-MM format");
+        }
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventmanagement.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row on a keyset page: the sort timestamp plus the id as a
+ * tie-breaker. Sent to clients as an opaque base64url token.
+ */
+public record KeysetCursor(LocalDateTime position, Long id) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public String encode() {
+        String raw = position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a token from {@link #encode()}; returns null for a blank token (first page). */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
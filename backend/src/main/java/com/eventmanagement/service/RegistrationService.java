@@ -2,6 +2,7 @@ package com.eventmanagement.service;
 
 import com.eventmanagement.dto.BookRequest;
 import com.eventmanagement.dto.InvoiceDTO;
+import com.eventmanagement.dto.PageDTO;
 import com.eventmanagement.dto.RegistrationDTO;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.entity.Registration;
@@ -12,12 +13,13 @@ import com.eventmanagement.repository.RegistrationRepository;
 import com.eventmanagement.repository.TicketRepository;
 import com.eventmanagement.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +29,21 @@ public class RegistrationService {
     private final RegistrationRepository registrationRepository;
     private final EventRepository eventRepository;
     private final TicketRepository ticketRepository;
+    private final TicketInventory ticketInventory;
+    private final DashboardCounters dashboardCounters;
+    private final CheckInService checkInService;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
+    private final BookingMetrics bookingMetrics;
+    private final TicketCodes ticketCodes;
+    private final WaitlistService waitlistService;
     private final SecurityUtils securityUtils;
 
+    /** Upper bound for the first bookings page (later than any registeredAt). */
+    private static final LocalDateTime KEYSET_END = LocalDateTime.of(9999, 12, 31, 23, 59);
+    static final String WAITLIST_FIRST = "Event is sold out and has a waitlist. Join the waitlist instead.";
+    private static final DateTimeFormatter INVOICE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
     @Transactional
     public RegistrationDTO book(BookRequest request) {
         User currentUser = securityUtils.getCurrentUser();
@@ -39,78 +54,192 @@ public class RegistrationService {
             throw new RuntimeException("Only attendees can book events");
         }
 
-        Event event = eventRepository.findById(request.getEventId())
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+        Event event = eventRepository.findById(request.getEventId()).orElse(null);
+        if (event == null) {
+            bookingMetrics.rejected(BookingMetrics.Outcome.NOT_FOUND);
+            throw new RuntimeException("Event not found");
+        }
         if (event.getStatus() != Event.EventStatus.PUBLISHED) {
+            bookingMetrics.rejected(BookingMetrics.Outcome.NOT_PUBLISHED);
             throw new RuntimeException("Event is not available for booking");
         }
         if (event.getStartDate().isBefore(java.time.LocalDateTime.now())) {
+            bookingMetrics.rejected(BookingMetrics.Outcome.STARTED);
             throw new RuntimeException("Event has already started");
         }
 
         if (registrationRepository.existsByEventIdAndUserId(event.getId(), currentUser.getId())) {
+            bookingMetrics.rejected(BookingMetrics.Outcome.DUPLICATE);
             throw new RuntimeException("You have already booked this event");
         }
-
-        Ticket ticket = ticketRepository.findByEventId(event.getId()).orElseGet(() -> {
-            int max = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
-            int booked = registrationRepository.countByEventId(event.getId());
-            Ticket newTicket = Ticket.builder()
-                    .event(event)
-                    .eventName(event.getName())
-                    .maxTickets(max)
-                    .ticketsLeft(Math.max(0, max - booked))
-                    .build();
-            return ticketRepository.save(newTicket);
-        });
-        if (ticket.getTicketsLeft() < request.getNumberOfTickets()) {
-            throw new RuntimeException("Not enough tickets available. Only " + ticket.getTicketsLeft() + " left.");
+        // Returned tickets belong to the queue; a direct booking must not overtake it
+        if (waitlistService.blocksDirectBooking(event.getId(), () -> ticketsLeft(event))) {
+            bookingMetrics.rejected(BookingMetrics.Outcome.SOLD_OUT);
+            throw new RuntimeException(WAITLIST_FIRST);
         }
 
-        int updated = ticketRepository.decrementTickets(event.getId(), request.getNumberOfTickets());
-        if (updated == 0) {
-            throw new RuntimeException("Not enough tickets available. Booking failed.");
+        int requested = request.getNumberOfTickets();
+        if (ticketInventory.isEnabled()) {
+            boolean reserved = ticketInventory.tryReserve(event.getId(), requested,
+                    () -> findOrCreateTicket(event).getTicketsLeft());
+            if (!reserved) {
+                bookingMetrics.rejected(BookingMetrics.Outcome.SOLD_OUT);
+                throw new RuntimeException("Not enough tickets available. Only "
+                        + ticketInventory.ticketsLeft(event.getId()) + " left.");
+            }
+        } else {
+            Ticket ticket = findOrCreateTicket(event);
+            if (ticket.getTicketsLeft() < requested) {
+                bookingMetrics.rejected(BookingMetrics.Outcome.SOLD_OUT);
+                throw new RuntimeException("Not enough tickets available. Only " + ticket.getTicketsLeft() + " left.");
+            }
+
+            int updated = ticketRepository.decrementTickets(event.getId(), requested);
+            if (updated == 0) {
+                bookingMetrics.rejected(BookingMetrics.Outcome.SOLD_OUT);
+                throw new RuntimeException("Not enough tickets available. Booking failed.");
+            }
         }
 
-        String ticketCode = "EVT-" + event.getId() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        String ticketCode = newTicketCode(event.getId());
 
         Registration reg = Registration.builder()
                 .event(event)
                 .user(currentUser)
-                .numberOfTickets(request.getNumberOfTickets())
+                .numberOfTickets(requested)
                 .ticketCode(ticketCode)
                 .paymentStatus(Registration.PaymentStatus.COMPLETED)
                 .build();
         reg = registrationRepository.save(reg);
+        dashboardCounters.bookingCreated(requested, event.getTicketPrice());
+        checkInService.registeredAfterCommit(event.getId(), reg.getId(), ticketCode);
+        catalogVersions.eventChanged(event.getId());
+        upcomingEventsFeed.bookedAfterCommit(event.getId(), requested);
+        bookingMetrics.booked(event.getId(), requested);
         return toDTO(reg);
     }
 
+    /** Free tickets as the active inventory sees them. */
+    int ticketsLeft(Event event) {
+        Integer counted = ticketInventory.ticketsLeft(event.getId());
+        return counted != null ? counted : findOrCreateTicket(event).getTicketsLeft();
+    }
+
+    /**
+     * Cancels a booking before the event starts (owner or admin). The tickets go to the
+     * event's waitlist first, in this transaction; any left over become bookable again.
+     */
+    @Transactional
+    public void cancel(Long registrationId) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        Registration reg = registrationRepository.findById(registrationId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        if (!securityUtils.isAdmin() && !reg.getUser().getId().equals(currentUserId)) {
+            throw new RuntimeException("Access denied");
+        }
+        Event event = reg.getEvent();
+        if (event.getStartDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Event has already started");
+        }
+        if (reg.getCheckedInAt() != null) {
+            throw new RuntimeException("Ticket has already been used");
+        }
+
+        // Admissions may not be written back yet, so the gate has the final say
+        if (!checkInService.withdraw(event.getId(), reg.getTicketCode())) {
+            throw new RuntimeException("Ticket has already been used");
+        }
+
+        int tickets = reg.getNumberOfTickets();
+        registrationRepository.delete(reg);
+        dashboardCounters.bookingCancelled(tickets, event.getTicketPrice());
+        catalogVersions.eventChanged(event.getId());
+        upcomingEventsFeed.ticketsReturnedAfterCommit(event.getId(), tickets);
+        waitlistService.ticketsReturned(event, tickets);
+    }
+
     @Transactional(readOnly = true)
     public List<RegistrationDTO> getMyBookings() {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
-        return registrationRepository.findByUserId(currentUser.getId()).stream()
+        return registrationRepository.findByUserId(currentUserId).stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /** Keyset page of the current user's bookings, newest first. */
+    @Transactional(readOnly = true)
+    public PageDTO<RegistrationDTO> getMyBookingsPage(String cursor, Integer limit) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int size = KeysetCursor.clampLimit(limit);
+        List<Registration> rows = registrationRepository.findPageByUserIdBefore(
+                currentUserId,
+                before != null ? before.position() : KEYSET_END,
+                before != null ? before.id() : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Registration last = rows.get(size - 1);
+            next = new KeysetCursor(last.getRegisteredAt(), last.getId()).encode();
+        }
+        return new PageDTO<>(rows.stream().map(this::toDTO).collect(Collectors.toList()), next);
+    }
+
     @Transactional(readOnly = true)
     public InvoiceDTO getInvoice(Long registrationId) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         Registration reg = registrationRepository.findById(registrationId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
-        if (!reg.getUser().getId().equals(currentUser.getId())) {
+        if (!reg.getUser().getId().equals(currentUserId)) {
             throw new RuntimeException("Access denied");
         }
 
+        return toInvoice(reg);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasBooked(Long eventId) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) return false;
+        return registrationRepository.existsByEventIdAndUserId(eventId, currentUserId);
+    }
+
+    String newTicketCode(Long eventId) {
+        return ticketCodes.next(eventId);
+    }
+
+    Ticket findOrCreateTicket(Event event) {
+        return ticketRepository.findByEventId(event.getId()).orElseGet(() -> {
+            int max = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
+            int booked = registrationRepository.countByEventId(event.getId());
+            Ticket newTicket = Ticket.builder()
+                    .event(event)
+                    .eventName(event.getName())
+                    .maxTickets(max)
+                    .ticketsLeft(Math.max(0, max - booked))
+                    .build();
+            return ticketRepository.save(newTicket);
+        });
+    }
+
+    /** Builds the invoice for a booking; shared with InvoiceJobService. */
+    static InvoiceDTO toInvoice(Registration reg) {
         Event e = reg.getEvent();
         double total = (e.getTicketPrice() != null ? e.getTicketPrice() : 0) * reg.getNumberOfTickets();
-        String invoiceNum = "INV-" + reg.getId() + "-" + reg.getRegisteredAt().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String invoiceNum = "INV-" + reg.getId() + "-" + reg.getRegisteredAt().format(INVOICE_DATE);
 
         return InvoiceDTO.builder()
                 .invoiceNumber(invoiceNum)
@@ -119,8 +248,8 @@ public class RegistrationService {
                 .eventName(e.getName())
                 .eventDate(e.getStartDate())
                 .eventLocation(e.getLocation())
-                .attendeeName(currentUser.getFirstName() + " " + currentUser.getLastName())
-                .attendeeEmail(currentUser.getEmail())
+                .attendeeName(reg.getUser().getFirstName() + " " + reg.getUser().getLastName())
+                .attendeeEmail(reg.getUser().getEmail())
                 .numberOfTickets(reg.getNumberOfTickets())
                 .unitPrice(e.getTicketPrice() != null ? e.getTicketPrice() : 0)
                 .totalAmount(total)
@@ -128,14 +257,8 @@ public class RegistrationService {
                 .build();
     }
 
-    @Transactional(readOnly = true)
-    public boolean hasBooked(Long eventId) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) return false;
-        return registrationRepository.existsByEventIdAndUserId(eventId, currentUser.getId());
-    }
-
-    private RegistrationDTO toDTO(Registration reg) {
+    // Package-private so the JMH mapping benchmark can call it directly
+    RegistrationDTO toDTO(Registration reg) {
         Event e = reg.getEvent();
         User u = reg.getUser();
         return RegistrationDTO.builder()
@@ -0,0 +1,17 @@
+package com.eventmanagement.service;
+
+/**
+ * Produces ticket codes for new bookings. Implementations are registered as beans and
+ * selected by name through {@code app.ticket-code.generator} (see TicketCodes).
+ */
+public interface TicketCodeGenerator {
+
+    /** Name used in {@code app.ticket-code.generator}. */
+    String name();
+
+    /** A new code for a booking of the event; safe to call from many threads at once. */
+    String next(Long eventId);
+
+    /** Cheap syntactic check (no lookup) that the code could have come from this generator. */
+    boolean matches(String code);
+}
@@ -0,0 +1,48 @@
+package com.eventmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Entry point for ticket codes: new codes come from the generator named by
+ * {@code app.ticket-code.generator}; validation accepts the formats of every
+ * registered generator, so codes issued before a switch stay valid.
+ */
+@Component
+public class TicketCodes {
+
+    private final List<TicketCodeGenerator> generators;
+    private final TicketCodeGenerator active;
+
+    public TicketCodes(List<TicketCodeGenerator> generators,
+                       @Value("${app.ticket-code.generator:compact}") String name) {
+        this.generators = generators;
+        this.active = generators.stream()
+                .filter(g -> g.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown app.ticket-code.generator: " + name));
+    }
+
+    public String next(Long eventId) {
+        return active.next(eventId);
+    }
+
+    /** False if no generator could have produced the code; true does not mean it exists. */
+    public boolean isWellFormed(String code) {
+        if (code == null) return false;
+        for (TicketCodeGenerator generator : generators) {
+            if (generator.matches(code)) return true;
+        }
+        return false;
+    }
+
+    /** Index of the dash after the event id in "EVT-{digits}-...", or -1 if the prefix is malformed. */
+    static int eventIdEnd(String code) {
+        if (!code.startsWith("EVT-")) return -1;
+        int i = 4;
+        while (i < code.length() && code.charAt(i) >= '0' && code.charAt(i) <= '9') i++;
+        return i > 4 && i < code.length() && code.charAt(i) == '-' ? i : -1;
+    }
+}
@@ -0,0 +1,230 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Ticket inventory - optional in-memory, striped ticket counters
+// ============================================
+
+import com.eventmanagement.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntSupplier;
+
+/**
+ * Keeps each event's ticketsLeft in memory when {@code app.inventory.mode=memory}.
+ * Counters are split into stripes so concurrent bookings for the same event rarely
+ * touch the same cell; a stripe never goes below zero, so tickets are never oversold.
+ * The tickets table is updated write-behind and the counters are rebuilt from
+ * tickets/registrations on startup (see TicketInventoryLoader).
+ * Only valid for a single application instance.
+ */
+@Slf4j
+@Component
+public class TicketInventory {
+
+    private final TicketRepository ticketRepository;
+    private final boolean enabled;
+    private final int stripes;
+
+    private final Map<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public TicketInventory(TicketRepository ticketRepository,
+                           @Value("${app.inventory.mode:database}") String mode,
+                           @Value("${app.inventory.stripes:8}") int stripes) {
+        this.ticketRepository = ticketRepository;
+        this.enabled = "memory".equalsIgnoreCase(mode);
+        this.stripes = Math.max(1, stripes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Number of tickets left for the event, or null if the event is not tracked in memory. */
+    public Integer ticketsLeft(Long eventId) {
+        if (!enabled) return null;
+        StripedCounter counter = counters.get(eventId);
+        return counter != null ? counter.sum() : null;
+    }
+
+    /**
+     * Takes {@code count} tickets from the event's counter. The counter is created from
+     * {@code initialLeft} if the event is not tracked yet. When called inside a transaction
+     * the tickets are given back automatically if that transaction does not commit.
+     */
+    public boolean tryReserve(Long eventId, int count, IntSupplier initialLeft) {
+        StripedCounter counter = counterFor(eventId, initialLeft);
+        if (!counter.tryTake(count)) {
+            return false;
+        }
+        dirty.add(eventId);
+        TransactionHooks.afterRollback(() -> release(eventId, count));
+        return true;
+    }
+
+    /**
+     * The event's counter, created from {@code initialLeft} if the event is not tracked yet.
+     * The supplier may query the database, so it runs before (not inside) the map's bin lock;
+     * if two callers race, the first counter published wins.
+     */
+    private StripedCounter counterFor(Long eventId, IntSupplier initialLeft) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) return counter;
+        StripedCounter created = new StripedCounter(stripes, Math.max(0, initialLeft.getAsInt()));
+        counter = counters.putIfAbsent(eventId, created);
+        return counter != null ? counter : created;
+    }
+
+    public void release(Long eventId, int count) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.add(count);
+            dirty.add(eventId);
+        }
+    }
+
+    /**
+     * Gives tickets back once the surrounding transaction commits, so a rollback never has
+     * to take them back from other bookers. The counter is created from {@code initialLeft}
+     * (which must not include the returned tickets) if the event is not tracked yet; it is
+     * read right away, in the caller's transaction, not after it has ended.
+     */
+    public void releaseAfterCommit(Long eventId, int count, IntSupplier initialLeft) {
+        if (!enabled || count <= 0) return;
+        int initial = counters.containsKey(eventId) ? 0 : initialLeft.getAsInt();
+        TransactionHooks.afterCommit(() -> {
+            counterFor(eventId, () -> initial).add(count);
+            dirty.add(eventId);
+        });
+    }
+
+    /**
+     * Starts tracking an event (or replaces its counter) with the given tickets left.
+     * Used when rebuilding the inventory at startup.
+     */
+    public void track(Long eventId, int ticketsLeft) {
+        if (!enabled) return;
+        counters.put(eventId, new StripedCounter(stripes, Math.max(0, ticketsLeft)));
+    }
+
+    /**
+     * Caps the event's tickets left at {@code maxTickets} and returns the resulting value.
+     * {@code persistedLeft} is used when the event is not tracked yet (or in database mode).
+     */
+    public int applyCapacity(Long eventId, int maxTickets, int persistedLeft) {
+        if (!enabled) {
+            return Math.min(persistedLeft, maxTickets);
+        }
+        StripedCounter counter = counters.computeIfAbsent(eventId,
+                id -> new StripedCounter(stripes, Math.max(0, persistedLeft)));
+        counter.shrinkTo(maxTickets);
+        dirty.add(eventId);
+        return counter.sum();
+    }
+
+    public void forget(Long eventId) {
+        counters.remove(eventId);
+        dirty.remove(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms:500}")
+    public void flush() {
+        if (!enabled || dirty.isEmpty()) return;
+        for (Long eventId : dirty) {
+            dirty.remove(eventId);
+            StripedCounter counter = counters.get(eventId);
+            if (counter == null) continue;
+            try {
+                ticketRepository.setTicketsLeft(eventId, counter.sum());
+            } catch (RuntimeException ex) {
+                dirty.add(eventId);
+                log.warn("Failed to write ticket inventory for event {}: {}", eventId, ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Non-negative counter split over padded cells. A take first tries a random stripe
+     * and then steals from the others; partial takes are rolled back on failure.
+     */
+    static final class StripedCounter {
+
+        /** One int per 64-byte cache line. */
+        private static final int PAD = 16;
+
+        private final int stripes;
+        private final AtomicIntegerArray cells;
+
+        StripedCounter(int stripes, int initial) {
+            this.stripes = stripes;
+            this.cells = new AtomicIntegerArray(stripes * PAD);
+            int base = initial / stripes;
+            int rest = initial % stripes;
+            for (int i = 0; i < stripes; i++) {
+                cells.set(i * PAD, base + (i < rest ? 1 : 0));
+            }
+        }
+
+        int sum() {
+            int total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.get(i * PAD);
+            }
+            return total;
+        }
+
+        boolean tryTake(int count) {
+            int start = ThreadLocalRandom.current().nextInt(stripes);
+            int[] taken = null;
+            int remaining = count;
+            for (int i = 0; i < stripes && remaining > 0; i++) {
+                int stripe = (start + i) % stripes;
+                int idx = stripe * PAD;
+                while (remaining > 0) {
+                    int current = cells.get(idx);
+                    if (current == 0) break;
+                    int take = Math.min(current, remaining);
+                    if (cells.compareAndSet(idx, current, current - take)) {
+                        if (taken == null) taken = new int[stripes];
+                        taken[stripe] += take;
+                        remaining -= take;
+                    }
+                }
+            }
+            if (remaining == 0) {
+                return true;
+            }
+            if (taken != null) {
+                for (int i = 0; i < stripes; i++) {
+                    if (taken[i] > 0) cells.getAndAdd(i * PAD, taken[i]);
+                }
+            }
+            return false;
+        }
+
+        void add(int count) {
+            cells.getAndAdd(ThreadLocalRandom.current().nextInt(stripes) * PAD, count);
+        }
+
+        void shrinkTo(int max) {
+            int excess;
+            while ((excess = sum() - max) > 0) {
+                tryTake(excess);
+            }
+        }
+    }
+}
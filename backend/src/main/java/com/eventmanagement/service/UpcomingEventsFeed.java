@@ -0,0 +1,178 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Upcoming events feed - landing page list served from memory
+// ============================================
+
+import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.entity.Event.EventStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Published future events ordered by (startDate, id), used for GET /events/upcoming when
+ * {@code app.upcoming.mode=memory}. Reads walk the skip list from "now", so an event
+ * drops out the moment it starts; a scheduled sweep then frees its entry.
+ * EventService keeps single events current after commit and bookings adjust ticketsLeft.
+ * Changes the feed cannot apply itself (venue or organizer renamed, bulk import) mark it
+ * stale: reads return null so the caller falls back to the database until
+ * UpcomingEventsLoader has rebuilt it. Booking deltas do not hold up a rebuild; a booking
+ * that commits while the snapshot is read can leave that event's count off by its
+ * tickets until the event's next update (with memory inventory the live count is used).
+ */
+@Component
+public class UpcomingEventsFeed {
+
+    private record Key(LocalDateTime startDate, long id) {
+    }
+
+    private static final Comparator<Key> ORDER =
+            Comparator.comparing(Key::startDate).thenComparingLong(Key::id);
+
+    /** Snapshot without ticketsLeft, which changes with every booking and is kept alongside. */
+    private record Entry(Key key, EventDTO event, AtomicInteger ticketsLeft) {
+    }
+
+    private final boolean enabled;
+    private final TicketInventory ticketInventory;
+
+    private final ConcurrentSkipListMap<Key, Entry> byStart = new ConcurrentSkipListMap<>(ORDER);
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    /** Bumped by every added, moved or removed entry, so a rebuild can tell it raced with one. */
+    private final AtomicLong changes = new AtomicLong();
+    private volatile boolean ready;
+
+    public UpcomingEventsFeed(@Value("${app.upcoming.mode:database}") String mode,
+                              TicketInventory ticketInventory) {
+        this.enabled = "memory".equalsIgnoreCase(mode);
+        this.ticketInventory = ticketInventory;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** True when the feed needs a rebuild before it can serve reads. */
+    public boolean isStale() {
+        return enabled && !ready;
+    }
+
+    /** The next events to start, or null when the feed is off or stale. */
+    public List<EventDTO> upcoming(int limit) {
+        if (!enabled || !ready) return null;
+        List<EventDTO> result = new ArrayList<>(Math.max(0, limit));
+        ConcurrentNavigableMap<Key, Entry> future = byStart.tailMap(new Key(LocalDateTime.now(), Long.MIN_VALUE));
+        for (Entry entry : future.values()) {
+            if (result.size() >= limit) break;
+            Integer left = ticketInventory.ticketsLeft(entry.key().id());
+            result.add(entry.event().toBuilder()
+                    .ticketsLeft(left != null ? left : entry.ticketsLeft().get())
+                    .build());
+        }
+        return result;
+    }
+
+    /** Token for {@link #replace}; take it before reading the events from the database. */
+    public long beginRebuild() {
+        return changes.get();
+    }
+
+    /**
+     * Installs a full snapshot read after {@link #beginRebuild}. Returns false, leaving the
+     * feed stale, if an entry was added, moved or removed in between (the snapshot may miss it).
+     */
+    public synchronized boolean replace(List<EventDTO> events, long token) {
+        if (changes.get() != token) return false;
+        byStart.clear();
+        byId.clear();
+        for (EventDTO event : events) {
+            put(event);
+        }
+        ready = true;
+        return true;
+    }
+
+    /** Adds, moves or removes the event once the transaction commits, by its new state. */
+    public void putAfterCommit(EventDTO event) {
+        if (!enabled) return;
+        TransactionHooks.afterCommit(() -> apply(() -> put(event)));
+    }
+
+    public void removeAfterCommit(Long eventId) {
+        if (!enabled) return;
+        TransactionHooks.afterCommit(() -> apply(() -> remove(eventId)));
+    }
+
+    public void bookedAfterCommit(Long eventId, int tickets) {
+        adjustAfterCommit(eventId, -tickets);
+    }
+
+    /** For a cancellation; waiters promoted with the tickets are booked separately. */
+    public void ticketsReturnedAfterCommit(Long eventId, int tickets) {
+        adjustAfterCommit(eventId, tickets);
+    }
+
+    private void adjustAfterCommit(Long eventId, int delta) {
+        if (!enabled) return;
+        TransactionHooks.afterCommit(() -> {
+            Entry entry = byId.get(eventId);
+            if (entry != null) {
+                entry.ticketsLeft().addAndGet(delta);
+            }
+        });
+    }
+
+    /** For changes that touch many entries; reads go to the database until the next rebuild. */
+    public void invalidateAfterCommit() {
+        if (!enabled) return;
+        TransactionHooks.afterCommit(() -> apply(() -> ready = false));
+    }
+
+    /** Frees entries of events that have started; reads already skip them. */
+    @Scheduled(fixedDelayString = "${app.upcoming.sweep-interval-ms:60000}")
+    public void evictStarted() {
+        if (!enabled) return;
+        ConcurrentNavigableMap<Key, Entry> started = byStart.headMap(new Key(LocalDateTime.now(), Long.MIN_VALUE));
+        for (Entry entry : started.values()) {
+            byId.remove(entry.key().id(), entry);
+        }
+        started.clear();
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        changes.incrementAndGet();
+    }
+
+    private void put(EventDTO event) {
+        remove(event.getId());
+        if (event.getStatus() != EventStatus.PUBLISHED || event.getStartDate() == null
+                || !event.getStartDate().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        Key key = new Key(event.getStartDate(), event.getId());
+        int left = event.getTicketsLeft() != null ? event.getTicketsLeft() : 0;
+        Entry entry = new Entry(key, event.toBuilder().ticketsLeft(null).build(), new AtomicInteger(left));
+        byId.put(event.getId(), entry);
+        byStart.put(key, entry);
+    }
+
+    private void remove(Long eventId) {
+        Entry previous = byId.remove(eventId);
+        if (previous != null) {
+            byStart.remove(previous.key());
+        }
+    }
+}
@@ -7,6 +7,7 @@ package com.eventmanagement.service;
 import com.eventmanagement.dto.UserDTO;
 import com.eventmanagement.entity.User;
 import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.AuthenticatedPrincipalCache;
 import com.eventmanagement.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +25,10 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtils securityUtils;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final DashboardCounters dashboardCounters;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
 
     @Transactional(readOnly = true)
     public List<UserDTO> findAll() {
@@ -65,6 +70,7 @@ public class UserService {
         User user = toEntity(dto);
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
         user = userRepository.save(user);
+        dashboardCounters.userCreated();
         return toDTO(user);
     }
 
@@ -79,10 +85,13 @@ public class UserService {
         user.setFirstName(dto.getFirstName());
         user.setLastName(dto.getLastName());
         user.setPhone(dto.getPhone());
-        if (dto.getRole() != null) {
+        if (dto.getRole() != null && dto.getRole() != user.getRole()) {
             user.setRole(dto.getRole());
+            principalCache.invalidateUser(user.getEmail());
         }
         user = userRepository.save(user);
+        catalogVersions.userChanged();
+        upcomingEventsFeed.invalidateAfterCommit();
         return toDTO(user);
     }
 
@@ -92,10 +101,13 @@ public class UserService {
         if (!securityUtils.isAdmin()) {
             throw new RuntimeException("Access denied. Only administrators can delete users");
         }
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        userRepository.delete(user);
+        principalCache.invalidateUser(user.getEmail());
+        dashboardCounters.reconcileAfterCommit();
+        catalogVersions.userChanged();
+        upcomingEventsFeed.invalidateAfterCommit();
     }
 
     private UserDTO toDTO(User user) {
@@ -0,0 +1,36 @@
+package com.eventmanagement.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * The original format, EVT-{eventId}-{8 hex chars from a random UUID}. Draws from
+ * SecureRandom on every call and can collide; kept so existing codes still validate.
+ */
+@Component
+public class UuidTicketCodeGenerator implements TicketCodeGenerator {
+
+    private static final int SUFFIX_LENGTH = 8;
+
+    @Override
+    public String name() {
+        return "uuid";
+    }
+
+    @Override
+    public String next(Long eventId) {
+        return "EVT-" + eventId + "-" + UUID.randomUUID().toString().substring(0, SUFFIX_LENGTH).toUpperCase();
+    }
+
+    @Override
+    public boolean matches(String code) {
+        int dash = TicketCodes.eventIdEnd(code);
+        if (dash < 0 || code.length() - dash - 1 != SUFFIX_LENGTH) return false;
+        for (int i = dash + 1; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'A' && c <= 'F'))) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,286 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Venue schedule - per-venue interval trees for double-booking checks
+// ============================================
+
+import com.eventmanagement.entity.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of every venue's booked time slots, used when
+ * {@code app.venue-schedule.mode=memory} instead of EventRepository.findOverlappingEvents.
+ * Each venue has an interval tree (a treap ordered by start, augmented with the max end
+ * of each subtree), so "is this slot free" is O(log n). Cancelled events and events
+ * without a venue are not tracked. Overlap is inclusive, as in the SQL query.
+ * Built at startup by VenueScheduleLoader and kept in sync by EventService after commit.
+ * Until then {@link #reserve} holds the slot, so two transactions cannot both find it free.
+ */
+@Component
+public class VenueSchedule {
+
+    private final boolean enabled;
+    private final Map<Long, IntervalTree> venues = new ConcurrentHashMap<>();
+    private final Map<Long, Long> venueByEvent = new ConcurrentHashMap<>();
+    /** Negative keys for held slots; event ids are positive. */
+    private final AtomicLong holds = new AtomicLong();
+
+    public VenueSchedule(@Value("${app.venue-schedule.mode:database}") String mode) {
+        this.enabled = "memory".equalsIgnoreCase(mode);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** True if no tracked event at the venue overlaps [start, end], ignoring excludeEventId. */
+    public boolean isFree(Long venueId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        IntervalTree tree = venues.get(venueId);
+        if (tree == null) return true;
+        synchronized (tree) {
+            return !tree.overlaps(toEpoch(start), toEpoch(end), excludeEventId);
+        }
+    }
+
+    /**
+     * Like {@link #isFree}, but a free slot is also taken in the same step, held under a
+     * key of its own until the surrounding transaction completes. By then putAfterCommit
+     * has tracked the event itself, or the transaction rolled back and the slot is free.
+     */
+    public boolean reserve(Long venueId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        long from = toEpoch(start);
+        long to = toEpoch(end);
+        long hold = -holds.incrementAndGet();
+        IntervalTree tree = venues.computeIfAbsent(venueId, id -> new IntervalTree());
+        synchronized (tree) {
+            if (tree.overlaps(from, to, excludeEventId)) {
+                return false;
+            }
+            tree.insert(from, to, hold);
+        }
+        TransactionHooks.afterCompletion(() -> {
+            synchronized (tree) {
+                tree.delete(hold);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Checks a batch of candidate slots at once. A slot is free only if it overlaps
+     * neither a booked event nor an earlier slot of the same batch.
+     */
+    public List<Boolean> checkSlots(Long venueId, List<LocalDateTime[]> slots) {
+        IntervalTree tree = venues.get(venueId);
+        if (tree == null) {
+            return checkSlots(new IntervalTree(), slots);
+        }
+        synchronized (tree) {
+            return checkSlots(tree, slots);
+        }
+    }
+
+    /** Same as {@link #checkSlots(Long, List)} against an explicit list of booked events. */
+    public List<Boolean> checkSlotsAgainst(List<Event> booked, List<LocalDateTime[]> slots) {
+        IntervalTree tree = new IntervalTree();
+        for (Event event : booked) {
+            tree.insert(toEpoch(event.getStartDate()), toEpoch(event.getEndDate()), event.getId());
+        }
+        return checkSlots(tree, slots);
+    }
+
+    private static List<Boolean> checkSlots(IntervalTree booked, List<LocalDateTime[]> slots) {
+        IntervalTree batch = new IntervalTree();
+        List<Boolean> result = new ArrayList<>(slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            long start = toEpoch(slots.get(i)[0]);
+            long end = toEpoch(slots.get(i)[1]);
+            boolean free = !booked.overlaps(start, end, null) && !batch.overlaps(start, end, null);
+            if (free) {
+                batch.insert(start, end, i);
+            }
+            result.add(free);
+        }
+        return result;
+    }
+
+    /** Tracks the event's current venue and time slot (or untracks it if cancelled / no venue). */
+    public void put(Event event) {
+        if (!enabled) return;
+        Long eventId = event.getId();
+        remove(eventId);
+        if (event.getVenue() == null || event.getStatus() == Event.EventStatus.CANCELLED) {
+            return;
+        }
+        Long venueId = event.getVenue().getId();
+        IntervalTree tree = venues.computeIfAbsent(venueId, id -> new IntervalTree());
+        synchronized (tree) {
+            tree.insert(toEpoch(event.getStartDate()), toEpoch(event.getEndDate()), eventId);
+        }
+        venueByEvent.put(eventId, venueId);
+    }
+
+    public void remove(Long eventId) {
+        Long venueId = venueByEvent.remove(eventId);
+        if (venueId == null) return;
+        IntervalTree tree = venues.get(venueId);
+        if (tree != null) {
+            synchronized (tree) {
+                tree.delete(eventId);
+            }
+        }
+    }
+
+    public void putAfterCommit(Event event) {
+        if (!enabled) return;
+        // Copy what the tree needs now; the entity may be detached or changed after commit
+        Event snapshot = Event.builder()
+                .id(event.getId())
+                .venue(event.getVenue())
+                .status(event.getStatus())
+                .startDate(event.getStartDate())
+                .endDate(event.getEndDate())
+                .build();
+        TransactionHooks.afterCommit(() -> put(snapshot));
+    }
+
+    public void removeAfterCommit(Long eventId) {
+        if (!enabled) return;
+        TransactionHooks.afterCommit(() -> remove(eventId));
+    }
+
+    static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+
+    /**
+     * Treap of [start, end] intervals keyed by (start, id). Each node keeps the largest
+     * end in its subtree, so subtrees that end before a query start are skipped.
+     * Not thread-safe; callers synchronize on the tree.
+     */
+    static final class IntervalTree {
+
+        private static final Comparator<Node> ORDER =
+                Comparator.<Node>comparingLong(n -> n.start).thenComparingLong(n -> n.id);
+
+        private static final class Node {
+            final long start;
+            final long end;
+            final long id;
+            final int priority = ThreadLocalRandom.current().nextInt();
+            long maxEnd;
+            Node left;
+            Node right;
+
+            Node(long start, long end, long id) {
+                this.start = start;
+                this.end = end;
+                this.id = id;
+                this.maxEnd = end;
+            }
+        }
+
+        private Node root;
+        private final Map<Long, Node> byId = new HashMap<>();
+
+        void insert(long start, long end, long id) {
+            Node node = new Node(start, end, id);
+            byId.put(id, node);
+            root = insert(root, node);
+        }
+
+        void delete(long id) {
+            Node node = byId.remove(id);
+            if (node != null) {
+                root = delete(root, node);
+            }
+        }
+
+        boolean overlaps(long start, long end, Long excludeId) {
+            return overlaps(root, start, end, excludeId);
+        }
+
+        private static boolean overlaps(Node node, long start, long end, Long excludeId) {
+            if (node == null || node.maxEnd < start) return false;
+            if (overlaps(node.left, start, end, excludeId)) return true;
+            if (node.start <= end && node.end >= start && (excludeId == null || node.id != excludeId)) {
+                return true;
+            }
+            // Right subtree starts at or after node.start; nothing there can begin before end otherwise
+            return node.start <= end && overlaps(node.right, start, end, excludeId);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) return added;
+            if (ORDER.compare(added, node) < 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) node = rotateRight(node);
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) node = rotateLeft(node);
+            }
+            update(node);
+            return node;
+        }
+
+        private static Node delete(Node node, Node target) {
+            if (node == null) return null;
+            int cmp = ORDER.compare(target, node);
+            if (cmp < 0) {
+                node.left = delete(node.left, target);
+            } else if (cmp > 0) {
+                node.right = delete(node.right, target);
+            } else {
+                if (node.left == null) return node.right;
+                if (node.right == null) return node.left;
+                if (node.left.priority > node.right.priority) {
+                    node = rotateRight(node);
+                    node.right = delete(node.right, target);
+                } else {
+                    node = rotateLeft(node);
+                    node.left = delete(node.left, target);
+                }
+            }
+            update(node);
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static void update(Node node) {
+            long max = node.end;
+            if (node.left != null) max = Math.max(max, node.left.maxEnd);
+            if (node.right != null) max = Math.max(max, node.right.maxEnd);
+            node.maxEnd = max;
+        }
+    }
+}
@@ -4,15 +4,19 @@ package com.eventmanagement.service;
 // Member 4: Venue service - business logic with RBAC
 // ============================================
 
+import com.eventmanagement.dto.ScheduleSlotDTO;
 import com.eventmanagement.dto.VenueDTO;
 import com.eventmanagement.entity.User;
 import com.eventmanagement.entity.Venue;
+import com.eventmanagement.repository.EventRepository;
 import com.eventmanagement.repository.VenueRepository;
 import com.eventmanagement.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,6 +26,11 @@ public class VenueService {
 
     private final VenueRepository venueRepository;
     private final SecurityUtils securityUtils;
+    private final DashboardCounters dashboardCounters;
+    private final VenueSchedule venueSchedule;
+    private final EventRepository eventRepository;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
 
     @Transactional(readOnly = true)
     public List<VenueDTO> findAll() {
@@ -57,13 +66,15 @@ public class VenueService {
         Venue venue = toEntity(dto);
         venue.setCreatedBy(currentUser);
         venue = venueRepository.save(venue);
+        dashboardCounters.venueCreated();
+        catalogVersions.venueChanged();
         return toDTO(venue);
     }
 
     @Transactional
     public VenueDTO update(Long id, VenueDTO dto) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         // Only ADMIN can update venues
@@ -81,13 +92,15 @@ public class VenueService {
         venue.setAmenities(dto.getAmenities());
         venue.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
         venue = venueRepository.save(venue);
+        catalogVersions.venueChanged();
+        upcomingEventsFeed.invalidateAfterCommit();
         return toDTO(venue);
     }
 
     @Transactional
     public void deleteById(Long id) {
-        User currentUser = securityUtils.getCurrentUser();
-        if (currentUser == null) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
             throw new RuntimeException("Unauthorized");
         }
         // Only ADMIN can delete venues
@@ -98,6 +111,50 @@ public class VenueService {
             throw new RuntimeException("Venue not found with id: " + id);
         }
         venueRepository.deleteById(id);
+        dashboardCounters.reconcileAfterCommit();
+        catalogVersions.venueChanged();
+        upcomingEventsFeed.invalidateAfterCommit();
+    }
+
+    /**
+     * Checks a whole schedule of sessions against the venue's bookings in one pass.
+     * Each slot must also not overlap an earlier slot in the same request.
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduleSlotDTO> checkAvailability(Long venueId, List<ScheduleSlotDTO> slots) {
+        if (!venueRepository.existsById(venueId)) {
+            throw new RuntimeException("Venue not found with id: " + venueId);
+        }
+        List<LocalDateTime[]> ranges = new ArrayList<>(slots.size());
+        for (ScheduleSlotDTO slot : slots) {
+            if (slot.getStartDate() == null || slot.getEndDate() == null) {
+                throw new RuntimeException("Each slot needs a start and end date");
+            }
+            if (slot.getEndDate().isBefore(slot.getStartDate())) {
+                throw new RuntimeException("Slot end date must not be before its start date");
+            }
+            ranges.add(new LocalDateTime[] {slot.getStartDate(), slot.getEndDate()});
+        }
+        List<Boolean> free;
+        if (venueSchedule.isEnabled()) {
+            free = venueSchedule.checkSlots(venueId, ranges);
+        } else if (ranges.isEmpty()) {
+            free = new ArrayList<>();
+        } else {
+            // One query for everything overlapping the schedule's overall span
+            LocalDateTime from = ranges.stream().map(r -> r[0]).min(LocalDateTime::compareTo).get();
+            LocalDateTime to = ranges.stream().map(r -> r[1]).max(LocalDateTime::compareTo).get();
+            free = venueSchedule.checkSlotsAgainst(eventRepository.findOverlappingEvents(venueId, from, to), ranges);
+        }
+        List<ScheduleSlotDTO> result = new ArrayList<>(slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            result.add(ScheduleSlotDTO.builder()
+                    .startDate(slots.get(i).getStartDate())
+                    .endDate(slots.get(i).getEndDate())
+                    .available(free.get(i))
+                    .build());
+        }
+        return result;
     }
 
     private VenueDTO toDTO(Venue venue) {
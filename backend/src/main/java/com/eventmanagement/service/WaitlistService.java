@@ -0,0 +1,282 @@
+package com.eventmanagement.service;
+
+// ============================================
+// Waitlist service - FIFO queue for sold-out events
+// ============================================
+
+import com.eventmanagement.dto.BookRequest;
+import com.eventmanagement.dto.WaitlistDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Registration;
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.WaitlistEntry;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.repository.WaitlistRepository;
+import com.eventmanagement.security.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Users join an event's waitlist once it is sold out instead of retrying the booking.
+ * Whenever tickets come back (a cancellation, or maxTickets raised by EventService.update)
+ * {@link #ticketsReturned} books the head of the queue in the same transaction, so the
+ * returned tickets reach waiters before any direct booking can see them.
+ * Promotion goes in join order; a waiter whose tickets do not fit is passed over for the
+ * ones behind, so a large request at the head cannot strand tickets smaller ones could
+ * use. Whatever is left is less than any waiter asked for, and direct bookings may take
+ * it (see {@link #blocksDirectBooking}). Promotion reads the queue in slices from the
+ * head and stops once the free tickets no longer cover the smallest request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    /** Queue entries read per query while promoting. */
+    private static final int CHUNK_SIZE = 200;
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketInventory ticketInventory;
+    private final TicketCodes ticketCodes;
+    private final DashboardCounters dashboardCounters;
+    private final CheckInService checkInService;
+    private final CatalogVersions catalogVersions;
+    private final UpcomingEventsFeed upcomingEventsFeed;
+    private final BookingMetrics bookingMetrics;
+    private final SecurityUtils securityUtils;
+
+    @Transactional
+    public WaitlistDTO join(BookRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        if (!securityUtils.isAttendee() && !securityUtils.isAdmin()) {
+            throw new RuntimeException("Only attendees can join a waitlist");
+        }
+
+        Event event = eventRepository.findById(request.getEventId())
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (event.getStatus() != Event.EventStatus.PUBLISHED) {
+            throw new RuntimeException("Event is not available for booking");
+        }
+        if (event.getStartDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Event has already started");
+        }
+        if (registrationRepository.existsByEventIdAndUserId(event.getId(), currentUser.getId())) {
+            throw new RuntimeException("You have already booked this event");
+        }
+        if (waitlistRepository.existsByEventIdAndUserId(event.getId(), currentUser.getId())) {
+            throw new RuntimeException("You are already on the waitlist for this event");
+        }
+
+        int requested = request.getNumberOfTickets();
+        // Nothing would ever promote a waiter queued while tickets are free
+        if (ticketsLeft(event.getId()) >= requested) {
+            throw new RuntimeException("Tickets are still available. Book the event instead.");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .event(event)
+                .user(currentUser)
+                .numberOfTickets(requested)
+                .build());
+        return waiting(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistDTO status(Long eventId) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        WaitlistEntry entry = waitlistRepository.findByEventIdAndUserId(eventId, currentUserId).orElse(null);
+        if (entry != null) {
+            return waiting(entry);
+        }
+        boolean booked = registrationRepository.existsByEventIdAndUserId(eventId, currentUserId);
+        return WaitlistDTO.builder()
+                .eventId(eventId)
+                .status(booked ? WaitlistDTO.Status.BOOKED : WaitlistDTO.Status.NOT_WAITING)
+                .build();
+    }
+
+    @Transactional
+    public void leave(Long eventId) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        if (waitlistRepository.deleteByEventIdAndUserId(eventId, currentUserId) == 0) {
+            throw new RuntimeException("You are not on the waitlist for this event");
+        }
+    }
+
+    /**
+     * True while some waiter could be served from the free tickets, which then belong to
+     * the queue. Otherwise nobody waiting can use them and a direct booking may.
+     * {@code ticketsLeft} is only read when someone is waiting.
+     */
+    public boolean blocksDirectBooking(Long eventId, IntSupplier ticketsLeft) {
+        Integer smallest = waitlistRepository.findSmallestRequest(eventId);
+        return smallest != null && ticketsLeft.getAsInt() >= smallest;
+    }
+
+    /**
+     * Puts {@code returned} tickets back into the event's inventory and books waiters from
+     * the head of the queue with them (and with any tickets that were already free).
+     * Must run in the caller's transaction: the ticket row stays locked until it commits,
+     * which also keeps two promotions of the same event from taking the same waiters.
+     * Returns the number of waiters booked.
+     */
+    @Transactional
+    public int ticketsReturned(Event event, int returned) {
+        Long eventId = event.getId();
+        Ticket ticket = ticketRepository.findByEventIdForUpdate(eventId).orElse(null);
+        if (ticket == null) {
+            ticket = createTicket(event);
+            if (ticketInventory.ticketsLeft(eventId) == null) {
+                // Counted from the bookings, which already leave out the returned tickets
+                returned = 0;
+            }
+        }
+        boolean open = event.getStatus() == Event.EventStatus.PUBLISHED
+                && event.getStartDate().isAfter(LocalDateTime.now());
+
+        if (ticketInventory.isEnabled()) {
+            // Waiters draw on the returned tickets first; the rest reach the counter on commit
+            int[] pool = {returned};
+            IntSupplier persisted = () -> ticketRepository.findByEventId(eventId).map(Ticket::getTicketsLeft).orElse(0);
+            int promoted = open ? promote(event, () -> {
+                Integer counted = ticketInventory.ticketsLeft(eventId);
+                return pool[0] + (counted != null ? counted : persisted.getAsInt());
+            }, tickets -> {
+                int fromPool = Math.min(pool[0], tickets);
+                if (fromPool < tickets && !ticketInventory.tryReserve(eventId, tickets - fromPool, persisted)) {
+                    return false;
+                }
+                pool[0] -= fromPool;
+                return true;
+            }) : 0;
+            ticketInventory.releaseAfterCommit(eventId, pool[0], persisted);
+            return promoted;
+        }
+
+        int[] left = {Math.min(ticket.getMaxTickets(), ticket.getTicketsLeft() + returned)};
+        int promoted = open ? promote(event, () -> left[0], tickets -> {
+            if (left[0] < tickets) return false;
+            left[0] -= tickets;
+            return true;
+        }) : 0;
+        ticket.setTicketsLeft(left[0]);
+        return promoted;
+    }
+
+    /**
+     * Books waiters in queue order whose tickets {@code take} can supply, passing over
+     * those it cannot. {@code available} bounds what is still free.
+     */
+    private int promote(Event event, IntSupplier available, IntPredicate take) {
+        Long eventId = event.getId();
+        Integer smallest = waitlistRepository.findSmallestRequest(eventId);
+        if (smallest == null) {
+            return 0;
+        }
+        int promoted = 0;
+        int tickets = 0;
+        long afterId = 0;
+        // The smallest request only grows as waiters leave, so this bound stays safe
+        while (available.getAsInt() >= smallest) {
+            List<WaitlistEntry> chunk = waitlistRepository.findChunkAfter(eventId, afterId, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+            List<Long> userIds = new ArrayList<>(chunk.size());
+            for (WaitlistEntry entry : chunk) {
+                userIds.add(entry.getUser().getId());
+            }
+            // Waiters who got a ticket directly in the meantime just leave the queue
+            Set<Long> alreadyBooked = new HashSet<>(registrationRepository.findUserIdsByEventIdAndUserIdIn(eventId, userIds));
+
+            List<Long> done = new ArrayList<>();
+            for (WaitlistEntry entry : chunk) {
+                afterId = entry.getId();
+                if (alreadyBooked.contains(entry.getUser().getId())) {
+                    done.add(entry.getId());
+                    continue;
+                }
+                int requested = entry.getNumberOfTickets();
+                if (requested > available.getAsInt() || !take.test(requested)) {
+                    continue;
+                }
+                String ticketCode = ticketCodes.next(eventId);
+                Registration reg = registrationRepository.save(Registration.builder()
+                        .event(event)
+                        .user(entry.getUser())
+                        .numberOfTickets(requested)
+                        .ticketCode(ticketCode)
+                        .paymentStatus(Registration.PaymentStatus.COMPLETED)
+                        .build());
+                dashboardCounters.bookingCreated(requested, event.getTicketPrice());
+                checkInService.registeredAfterCommit(eventId, reg.getId(), ticketCode);
+                bookingMetrics.booked(eventId, requested);
+                done.add(entry.getId());
+                promoted++;
+                tickets += requested;
+            }
+            if (!done.isEmpty()) {
+                waitlistRepository.deleteAllByIdInBatch(done);
+            }
+            if (chunk.size() < CHUNK_SIZE) break;
+        }
+        if (promoted > 0) {
+            catalogVersions.eventChanged(eventId);
+            upcomingEventsFeed.bookedAfterCommit(eventId, tickets);
+            log.info("Promoted {} waitlisted booking(s) ({} tickets) for event {}", promoted, tickets, eventId);
+        }
+        return promoted;
+    }
+
+    private int ticketsLeft(Long eventId) {
+        Integer left = ticketInventory.ticketsLeft(eventId);
+        if (left != null) return left;
+        return ticketRepository.findByEventId(eventId).map(Ticket::getTicketsLeft).orElse(0);
+    }
+
+    private Ticket createTicket(Event event) {
+        int max = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
+        int booked = registrationRepository.countByEventId(event.getId());
+        return ticketRepository.save(Ticket.builder()
+                .event(event)
+                .eventName(event.getName())
+                .maxTickets(max)
+                .ticketsLeft(Math.max(0, max - booked))
+                .build());
+    }
+
+    private WaitlistDTO waiting(WaitlistEntry entry) {
+        Long eventId = entry.getEvent().getId();
+        return WaitlistDTO.builder()
+                .eventId(eventId)
+                .status(WaitlistDTO.Status.WAITING)
+                .numberOfTickets(entry.getNumberOfTickets())
+                .position(waitlistRepository.countByEventIdAndIdLessThan(eventId, entry.getId()) + 1)
+                .joinedAt(entry.getJoinedAt())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.eventmanagement.config;
+
+/**
+ * Counts the SQL statements Hibernate runs for a block of test code on the current thread,
+ * with the same counter SqlBudgetFilter uses for requests.
+ */
+public final class SqlStatements {
+
+    @FunctionalInterface
+    public interface Block {
+        void run() throws Exception;
+    }
+
+    private SqlStatements() {
+    }
+
+    public static int count(Block block) throws Exception {
+        SqlStatementCounter.begin();
+        SqlStatementCounter.Tally tally;
+        try {
+            block.run();
+        } finally {
+            tally = SqlStatementCounter.end();
+        }
+        return tally.total();
+    }
+}
@@ -0,0 +1,171 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Registration;
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Venue;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.security.JwtUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per request for the listing endpoints, read from the app.sql.statements
+ * summary that SqlBudgetFilter records. Each listing must cost the same with a handful of
+ * events or bookings as with many more (no N+1), and stay within its @SqlBudget.
+ */
+@SpringBootTest(properties = "spring.config.name=test-application")
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VenueRepository venueRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    private User organizer;
+    private User attendee;
+    private String attendeeToken;
+
+    @BeforeEach
+    void setUp() {
+        organizer = saveUser(User.UserRole.ORGANIZER);
+        attendee = saveUser(User.UserRole.ATTENDEE);
+        attendeeToken = jwtUtil.generateToken(attendee.getEmail(), attendee.getRole().name());
+    }
+
+    @Test
+    void eventListDoesNotGrowWithEvents() throws Exception {
+        seedEvents(2);
+        long few = statements("/events");
+        seedEvents(10);
+        long many = statements("/events");
+
+        assertThat(many).isEqualTo(few).isBetween(1L, 4L);
+    }
+
+    @Test
+    void upcomingDoesNotGrowWithEvents() throws Exception {
+        seedEvents(2);
+        long few = statements("/events/upcoming?limit=20");
+        seedEvents(10);
+        long many = statements("/events/upcoming?limit=20");
+
+        assertThat(many).isEqualTo(few).isBetween(1L, 3L);
+    }
+
+    @Test
+    void myBookingsDoesNotGrowWithBookings() throws Exception {
+        book(seedEvents(2));
+        long few = statements("/registrations/my-bookings");
+        book(seedEvents(10));
+        long many = statements("/registrations/my-bookings");
+
+        assertThat(many).isEqualTo(few).isBetween(1L, 3L);
+    }
+
+    /**
+     * Statements run by one GET as the attendee. The path is requested once first, so the
+     * token is verified and cached as it would be for any repeat request.
+     */
+    private long statements(String path) throws Exception {
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + attendeeToken))
+                .andExpect(status().isOk());
+        DistributionSummary summary = meterRegistry.get("app.sql.statements")
+                .tag("endpoint", path.split("\\?")[0])
+                .summary();
+        double before = summary.totalAmount();
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + attendeeToken))
+                .andExpect(status().isOk());
+        return Math.round(summary.totalAmount() - before);
+    }
+
+    /** Published future events, each at its own venue and with a ticket row. */
+    private Event[] seedEvents(int count) {
+        Event[] events = new Event[count];
+        for (int i = 0; i < count; i++) {
+            int n = SEQUENCE.incrementAndGet();
+            Venue venue = venueRepository.save(Venue.builder()
+                    .name("Hall " + n)
+                    .city("Springfield")
+                    .capacity(100)
+                    .isActive(true)
+                    .createdBy(organizer)
+                    .build());
+            LocalDateTime start = LocalDateTime.now().plusDays(10 + n);
+            Event event = eventRepository.save(Event.builder()
+                    .name("Event " + n)
+                    .startDate(start)
+                    .endDate(start.plusHours(3))
+                    .location("Springfield")
+                    .status(Event.EventStatus.PUBLISHED)
+                    .maxAttendees(100)
+                    .ticketPrice(25.0)
+                    .organizer(organizer)
+                    .venue(venue)
+                    .build());
+            ticketRepository.save(Ticket.builder()
+                    .event(event)
+                    .eventName(event.getName())
+                    .maxTickets(100)
+                    .ticketsLeft(99)
+                    .build());
+            events[i] = event;
+        }
+        return events;
+    }
+
+    private void book(Event[] events) {
+        for (Event event : events) {
+            registrationRepository.save(Registration.builder()
+                    .event(event)
+                    .user(attendee)
+                    .numberOfTickets(1)
+                    .ticketCode("EVT-" + event.getId() + "-T" + SEQUENCE.incrementAndGet())
+                    .paymentStatus(Registration.PaymentStatus.COMPLETED)
+                    .build());
+        }
+    }
+
+    private User saveUser(User.UserRole role) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName(role.name())
+                .email("query-count-" + n + "@example.com")
+                .role(role)
+                .build());
+    }
+}
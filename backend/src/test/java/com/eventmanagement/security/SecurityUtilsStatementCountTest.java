@@ -0,0 +1,119 @@
+package com.eventmanagement.security;
+
+import com.eventmanagement.config.SqlStatements;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements SecurityUtils costs per request. A service typically asks for the current
+ * user's id, checks a role or two and sometimes needs the User entity. With only the email
+ * in the principal every id request was a user lookup; with AuthenticatedUser ids and roles
+ * are free and the entity is loaded at most once.
+ */
+@SpringBootTest(properties = "spring.config.name=test-application")
+class SecurityUtilsStatementCountTest {
+
+    @Autowired
+    private SecurityUtils securityUtils;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName("Attendee")
+                .email("security-utils-" + UUID.randomUUID() + "@example.com")
+                .role(User.UserRole.ATTENDEE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void principalAnswersIdAndRolesWithoutQueries() throws Exception {
+        authenticate(new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole().name()));
+
+        int statements = SqlStatements.count(this::typicalChecks);
+
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void emailOnlyPrincipalNeedsTheUserForItsId() throws Exception {
+        authenticate(user.getEmail());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        int memoized = SqlStatements.count(this::typicalChecks);
+        RequestContextHolder.resetRequestAttributes();
+        int unmemoized = SqlStatements.count(this::typicalChecks);
+
+        // The baseline AuthenticatedUser removes: one lookup per request, or per id request
+        // without the request-scoped memo (as before it existed)
+        assertThat(memoized).isEqualTo(1);
+        assertThat(unmemoized).isEqualTo(3);
+    }
+
+    @Test
+    void currentUserIsLoadedOncePerRequest() throws Exception {
+        authenticate(new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole().name()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        int statements = SqlStatements.count(() -> {
+            for (int i = 0; i < 3; i++) {
+                assertThat(securityUtils.getCurrentUser().getId()).isEqualTo(user.getId());
+            }
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void userLoadedDuringAuthenticationIsReused() throws Exception {
+        authenticate(new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole().name()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        // What JwtAuthFilter does after verifying a token it had not cached yet
+        SecurityUtils.rememberCurrentUser(user);
+
+        int statements = SqlStatements.count(() -> securityUtils.getCurrentUser());
+
+        assertThat(statements).isZero();
+    }
+
+    /** Three id lookups and the role checks RegistrationService.book and EventService.findAll make. */
+    private void typicalChecks() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(securityUtils.getCurrentUserId()).isEqualTo(user.getId());
+        }
+        assertThat(securityUtils.isAttendee()).isTrue();
+        assertThat(securityUtils.isAdmin()).isFalse();
+        assertThat(securityUtils.isOrganizer()).isFalse();
+    }
+
+    private void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))));
+    }
+}
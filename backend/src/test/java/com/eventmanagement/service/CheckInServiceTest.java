@@ -0,0 +1,136 @@
+package com.eventmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The check-in gate: one admission per code, unknown and withdrawn codes turned away. */
+class CheckInServiceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void admitsEachCodeOnce() {
+        CheckInService.Gate gate = loaded(100);
+        long fp = fp(7);
+
+        CheckInService.Gate.Scan first = gate.scan(fp, NOW);
+        CheckInService.Gate.Scan second = gate.scan(fp, NOW + 1000);
+
+        assertThat(first.admitted()).isTrue();
+        assertThat(first.registrationId()).isEqualTo(7);
+        assertThat(second.admitted()).isFalse();
+        assertThat(second.checkedInAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void concurrentScansOfOneCodeAdmitOnlyOne() throws Exception {
+        CheckInService.Gate gate = loaded(100);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CyclicBarrier ready = new CyclicBarrier(threads);
+        try {
+            List<Future<CheckInService.Gate.Scan>> scans = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long now = NOW + t;
+                scans.add(pool.submit(() -> {
+                    ready.await();
+                    return gate.scan(fp(42), now);
+                }));
+            }
+            int admitted = 0;
+            Long checkedInAt = null;
+            for (Future<CheckInService.Gate.Scan> scan : scans) {
+                CheckInService.Gate.Scan result = scan.get(10, TimeUnit.SECONDS);
+                if (result.admitted()) admitted++;
+                if (checkedInAt == null) checkedInAt = result.checkedInAt();
+                assertThat(result.checkedInAt()).isEqualTo(checkedInAt);
+            }
+            assertThat(admitted).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void unknownCodesAreTurnedAway() {
+        CheckInService.Gate gate = loaded(1000);
+
+        // Whatever the Bloom filter lets through, the table has the final say
+        for (int i = 1000; i < 20_000; i++) {
+            assertThat(gate.scan(fp(i), NOW)).isNull();
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(gate.scan(fp(i), NOW)).isNotNull();
+        }
+    }
+
+    @Test
+    void checkInsKnownToTheDatabaseAreNotAdmittedAgain() {
+        CheckInService.Gate gate = new CheckInService.Gate(1L, 10);
+        gate.add(fp(3), 3, NOW - 60_000);
+        gate.seal();
+
+        CheckInService.Gate.Scan scan = gate.scan(fp(3), NOW);
+
+        assertThat(scan.admitted()).isFalse();
+        assertThat(scan.checkedInAt()).isEqualTo(NOW - 60_000);
+    }
+
+    @Test
+    void withdrawnCodeIsUnknownUntilRestored() {
+        CheckInService.Gate gate = loaded(10);
+
+        assertThat(gate.withdraw(fp(5))).isTrue();
+        assertThat(gate.withdraw(fp(5))).isTrue();
+        assertThat(gate.scan(fp(5), NOW)).isNull();
+
+        gate.restore(fp(5));
+        assertThat(gate.scan(fp(5), NOW).admitted()).isTrue();
+    }
+
+    @Test
+    void admittedCodeCannotBeWithdrawn() {
+        CheckInService.Gate gate = loaded(10);
+        gate.scan(fp(5), NOW);
+
+        assertThat(gate.withdraw(fp(5))).isFalse();
+        assertThat(gate.scan(fp(5), NOW + 1).checkedInAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void codesAddedAfterLoadingBehaveTheSame() {
+        CheckInService.Gate gate = loaded(10);
+        gate.add(fp(500), 500, 0);
+
+        assertThat(gate.size()).isEqualTo(11);
+        assertThat(gate.withdraw(fp(500))).isTrue();
+        assertThat(gate.scan(fp(500), NOW)).isNull();
+        gate.restore(fp(500));
+        assertThat(gate.scan(fp(500), NOW).admitted()).isTrue();
+        assertThat(gate.scan(fp(500), NOW + 1).admitted()).isFalse();
+        assertThat(gate.withdraw(fp(500))).isFalse();
+    }
+
+    /** A sealed gate holding codes 0 .. count-1, registration id = code number. */
+    private static CheckInService.Gate loaded(int count) {
+        CheckInService.Gate gate = new CheckInService.Gate(1L, count);
+        for (int i = 0; i < count; i++) {
+            gate.add(fp(i), i, 0);
+        }
+        gate.seal();
+        return gate;
+    }
+
+    private static long fp(int code) {
+        return CheckInService.fingerprint("EVT-9-" + code);
+    }
+}
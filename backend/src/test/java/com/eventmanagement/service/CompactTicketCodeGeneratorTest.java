@@ -0,0 +1,168 @@
+package com.eventmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactTicketCodeGeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+    private static final long EPOCH_MS = 1704067200000L;
+
+    @Test
+    void codesHaveTheDocumentedShape() {
+        String code = new CompactTicketCodeGenerator(5, () -> NOW).next(42L);
+
+        assertThat(code).matches("EVT-42-[0-9A-HJKMNP-TV-Z]{14}");
+        assertThat(millis(code)).isEqualTo(NOW - EPOCH_MS);
+        assertThat(node(code)).isEqualTo(5);
+    }
+
+    @Test
+    void sequenceRollsOverIntoTheNextMillisecond() {
+        CompactTicketCodeGenerator generator = new CompactTicketCodeGenerator(1, () -> NOW);
+        Set<String> codes = new HashSet<>();
+        List<String> ordered = new ArrayList<>();
+        // 8192 sequence numbers per millisecond; a frozen clock has to borrow the next ones
+        for (int i = 0; i < 3 * 8192; i++) {
+            String code = generator.next(1L);
+            codes.add(code);
+            ordered.add(code);
+        }
+
+        assertThat(codes).hasSize(3 * 8192);
+        assertThat(millis(ordered.get(8191))).isEqualTo(NOW - EPOCH_MS);
+        assertThat(millis(ordered.get(8192))).isEqualTo(NOW - EPOCH_MS + 1);
+        assertThat(millis(ordered.get(3 * 8192 - 1))).isEqualTo(NOW - EPOCH_MS + 2);
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotRepeatCodes() {
+        AtomicLong clock = new AtomicLong(NOW);
+        CompactTicketCodeGenerator generator = new CompactTicketCodeGenerator(1, clock::get);
+        String before = generator.next(1L);
+        clock.set(NOW - 5_000);
+        String after = generator.next(1L);
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(millis(after)).isEqualTo(NOW - EPOCH_MS);
+    }
+
+    @Test
+    void concurrentCodesAreUnique() throws Exception {
+        CompactTicketCodeGenerator generator = new CompactTicketCodeGenerator(1, System::currentTimeMillis);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        codes.add(generator.next(7L));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(codes).hasSize(80_000);
+    }
+
+    @Test
+    void nodesNeverShareACode() {
+        String first = new CompactTicketCodeGenerator(1, () -> NOW).next(1L);
+        String second = new CompactTicketCodeGenerator(2, () -> NOW).next(1L);
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new CompactTicketCodeGenerator(1024, () -> NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void checkCharCatchesEverySingleCharMistake() {
+        CompactTicketCodeGenerator generator = new CompactTicketCodeGenerator(3, () -> NOW);
+        for (int n = 0; n < 50; n++) {
+            String code = generator.next(1234L);
+            assertThat(generator.matches(code)).isTrue();
+            // Event id digits, body and the check char itself
+            for (int i = 4; i < code.length(); i++) {
+                if (code.charAt(i) == '-') continue;
+                String alphabet = i < code.indexOf('-', 4) ? "0123456789" : CompactTicketCodeGenerator.ALPHABET;
+                for (char c : alphabet.toCharArray()) {
+                    if (c == code.charAt(i)) continue;
+                    String typo = code.substring(0, i) + c + code.substring(i + 1);
+                    assertThat(generator.matches(typo)).as(typo).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkCharCatchesMostAdjacentSwaps() {
+        CompactTicketCodeGenerator generator = new CompactTicketCodeGenerator(3, () -> NOW);
+        int swaps = 0;
+        int caught = 0;
+        for (int n = 0; n < 200; n++) {
+            String code = generator.next(1234L);
+            int bodyStart = code.indexOf('-', 4) + 1;
+            for (int i = bodyStart; i + 1 < code.length(); i++) {
+                if (code.charAt(i) == code.charAt(i + 1)) continue;
+                char[] chars = code.toCharArray();
+                chars[i] = code.charAt(i + 1);
+                chars[i + 1] = code.charAt(i);
+                swaps++;
+                if (!generator.matches(new String(chars))) caught++;
+            }
+        }
+
+        assertThat(caught).isGreaterThan(swaps * 9 / 10);
+    }
+
+    @Test
+    void rejectsCodesOfOtherShapes() {
+        CompactTicketCodeGenerator generator = new CompactTicketCodeGenerator(3, () -> NOW);
+        String code = generator.next(1L);
+
+        assertThat(generator.matches(code.substring(0, code.length() - 1))).isFalse();
+        assertThat(generator.matches(code.replace('-', '_'))).isFalse();
+        assertThat(generator.matches("EVT-1-" + "ILOU".repeat(3) + "AB")).isFalse();
+    }
+
+    /** The 64-bit body of a code, decoded from its 13 base32 chars. */
+    private static long body(String code) {
+        String body = code.substring(code.length() - 14, code.length() - 1);
+        long value = 0;
+        for (char c : body.toCharArray()) {
+            value = (value << 5) | CompactTicketCodeGenerator.ALPHABET.indexOf(c);
+        }
+        return value;
+    }
+
+    private static long millis(String code) {
+        return body(code) >>> (10 + 13);
+    }
+
+    private static long node(String code) {
+        return body(code) & 1023;
+    }
+}
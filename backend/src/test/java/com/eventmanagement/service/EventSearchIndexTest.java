@@ -0,0 +1,87 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Event.EventStatus;
+import com.eventmanagement.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+
+    private static final long ORGANIZER = 50L;
+
+    private final EventSearchIndex index = new EventSearchIndex("index", 500);
+
+    @BeforeEach
+    void setUp() {
+        index.index(event(1L, "Jazz Night", "Live music until late", "Riverside Hall", EventStatus.PUBLISHED));
+        index.index(event(2L, "Sunday Brunch", "Food and drinks", "Jazz Club, Main Street", EventStatus.PUBLISHED));
+        index.index(event(3L, "Open Mic", "Poetry, folk and jazz standards", "Library", EventStatus.PUBLISHED));
+        index.index(event(4L, "Rooftop DJ Set", "House music", "Tower Roof", EventStatus.PUBLISHED));
+        index.index(event(5L, "Old DJs Reunion", "Vinyl only", "Basement", EventStatus.PUBLISHED));
+        index.index(event(6L, "Jazz Workshop", "Draft programme", "Studio", EventStatus.DRAFT));
+    }
+
+    @Test
+    void ranksNameAboveLocationAboveDescription() {
+        assertThat(index.search("jazz", null, false, null)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        assertThat(index.search("jazz night", null, false, null)).containsExactly(1L);
+        assertThat(index.search("jazz brunch", null, false, null)).containsExactly(2L);
+        assertThat(index.search("jazz tango", null, false, null)).isEmpty();
+    }
+
+    @Test
+    void matchesSubstringsOfTheName() {
+        assertThat(index.search("azz nig", null, false, null)).containsExactly(1L);
+        assertThat(index.search("unio", null, false, null)).containsExactly(5L);
+    }
+
+    @Test
+    void matchesTermsShorterThanATrigram() {
+        // A whole word ranks above a substring of a longer word
+        assertThat(index.search("dj", null, false, null)).containsExactly(4L, 5L);
+        assertThat(index.search("j", null, false, null)).containsExactly(1L, 4L, 5L);
+        assertThat(index.search("dj roof", null, false, null)).containsExactly(4L);
+    }
+
+    @Test
+    void appliesVisibility() {
+        assertThat(index.search("workshop", null, false, null)).isEmpty();
+        assertThat(index.search("workshop", null, false, ORGANIZER)).containsExactly(6L);
+        assertThat(index.search("workshop", null, true, null)).containsExactly(6L);
+        assertThat(index.search("jazz", EventStatus.DRAFT, true, null)).containsExactly(6L);
+    }
+
+    @Test
+    void removedEventsAreNotFound() {
+        index.remove(1L);
+
+        assertThat(index.search("jazz", null, false, null)).containsExactly(2L, 3L);
+        assertThat(index.search("azz nig", null, false, null)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesTheOldText() {
+        index.index(event(1L, "Blues Night", "Live music until late", "Riverside Hall", EventStatus.PUBLISHED));
+
+        assertThat(index.search("jazz", null, false, null)).containsExactly(2L, 3L);
+        assertThat(index.search("blues", null, false, null)).containsExactly(1L);
+    }
+
+    private static Event event(Long id, String name, String description, String location, EventStatus status) {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .location(location)
+                .status(status)
+                .organizer(User.builder().id(ORGANIZER).build())
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.EventDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.config.name=test-application")
+class EventServiceTest {
+
+    /** The events are seeded once; the database lives as long as the test context. */
+    private static boolean seeded;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        User admin = authenticate(User.UserRole.ADMIN);
+        if (seeded) return;
+        for (String name : List.of("100% Jazz", "1000 Jazz", "Mix_Tape Night", "Mixatape Night",
+                "Back\\slash Party", "Backslash Party")) {
+            save(name, admin);
+        }
+        seeded = true;
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void pageSearchMatchesWildcardCharsLiterally() {
+        assertThat(names("100%")).containsExactly("100% Jazz");
+        assertThat(names("mix_")).containsExactly("Mix_Tape Night");
+        assertThat(names("k\\s")).containsExactly("Back\\slash Party");
+        assertThat(names("mix")).containsExactlyInAnyOrder("Mix_Tape Night", "Mixatape Night");
+    }
+
+    @Test
+    void organizerNameSearchMatchesWildcardCharsLiterally() {
+        authenticate(User.UserRole.ORGANIZER);
+
+        assertThat(eventService.searchByName("100%").stream().map(EventDTO::getName))
+                .containsExactly("100% Jazz");
+        assertThat(eventService.searchByName("mix_").stream().map(EventDTO::getName))
+                .containsExactly("Mix_Tape Night");
+    }
+
+    private List<String> names(String search) {
+        return eventService.findPage(null, search, null, 50).getItems().stream()
+                .map(EventDTO::getName)
+                .toList();
+    }
+
+    private User authenticate(User.UserRole role) {
+        User user = userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName(role.name())
+                .email("event-service-" + UUID.randomUUID() + "@example.com")
+                .role(role)
+                .build());
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail(), role.name()), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return user;
+    }
+
+    private void save(String name, User organizer) {
+        LocalDateTime start = LocalDateTime.now().plusDays(60);
+        eventRepository.save(Event.builder()
+                .name(name)
+                .startDate(start)
+                .endDate(start.plusHours(2))
+                .location("Springfield")
+                .status(Event.EventStatus.PUBLISHED)
+                .maxAttendees(10)
+                .ticketPrice(5.0)
+                .organizer(organizer)
+                .build());
+    }
+}
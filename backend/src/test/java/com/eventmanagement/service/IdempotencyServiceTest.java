@@ -0,0 +1,176 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.BookRequest;
+import com.eventmanagement.repository.IdempotencyRecordRepository;
+import com.eventmanagement.security.AuthenticatedUser;
+import com.eventmanagement.security.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.config.name=test-application")
+class IdempotencyServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger(1000);
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private IdempotencyRecordRepository repository;
+    @Autowired
+    private SecurityUtils securityUtils;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final long userId = USERS.incrementAndGet();
+    private final String key = UUID.randomUUID().toString();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryReplaysTheFirstResponse() {
+        authenticate();
+        ResponseEntity<?> first = idempotencyService.execute(key, request(2), this::booking);
+        ResponseEntity<?> retry = idempotencyService.execute(key, request(2), this::booking);
+
+        assertThat(runs).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getStatusCode().value()).isEqualTo(201);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo("{\"run\":1}");
+    }
+
+    @Test
+    void retryReplaysABusinessError() {
+        authenticate();
+        assertThatThrownBy(() -> idempotencyService.execute(key, request(2), this::soldOut))
+                .hasMessage("Sold out");
+        assertThatThrownBy(() -> idempotencyService.execute(key, request(2), this::booking))
+                .hasMessage("Sold out");
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForAnotherBookingIsRejected() {
+        authenticate();
+        idempotencyService.execute(key, request(2), this::booking);
+
+        assertThatThrownBy(() -> idempotencyService.execute(key, request(3), this::booking))
+                .hasMessage("Idempotency-Key was already used for a different booking");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keysArePerUser() {
+        authenticate();
+        idempotencyService.execute(key, request(2), this::booking);
+        authenticateAs(USERS.incrementAndGet());
+        idempotencyService.execute(key, request(2), this::booking);
+
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void retryWaitsForTheRequestStillRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> first = pool.submit(() -> {
+                authenticate();
+                return idempotencyService.execute(key, request(2), () -> {
+                    started.countDown();
+                    await(release);
+                    return booking();
+                });
+            });
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<ResponseEntity<?>> retry = pool.submit(() -> {
+                authenticate();
+                return idempotencyService.execute(key, request(2), this::booking);
+            });
+            Thread.sleep(200);
+            assertThat(retry.isDone()).isFalse();
+
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(201);
+            ResponseEntity<?> replayed = retry.get(10, TimeUnit.SECONDS);
+            assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(runs).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void storedOutcomeSurvivesARestart() {
+        authenticate();
+        idempotencyService.execute(key, request(2), this::booking);
+        IdempotencyService restarted = new IdempotencyService(repository, securityUtils, objectMapper,
+                transactionTemplate, 100, 3600, 1000);
+
+        ResponseEntity<?> retry = restarted.execute(key, request(2), this::booking);
+
+        assertThat(runs).hasValue(1);
+        assertThat(retry.getBody()).isEqualTo("{\"run\":1}");
+    }
+
+    private ResponseEntity<?> booking() {
+        return ResponseEntity.status(201).body(Map.of("run", runs.incrementAndGet()));
+    }
+
+    private ResponseEntity<?> soldOut() {
+        runs.incrementAndGet();
+        throw new RuntimeException("Sold out");
+    }
+
+    private static BookRequest request(int tickets) {
+        return new BookRequest(1L, tickets);
+    }
+
+    private void authenticate() {
+        authenticateAs(userId);
+    }
+
+    private static void authenticateAs(long id) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(id, "user" + id + "@example.com", "ATTENDEE"), null,
+                List.of(new SimpleGrantedAuthority("ROLE_ATTENDEE"))));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
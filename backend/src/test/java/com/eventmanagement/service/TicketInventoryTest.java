@@ -0,0 +1,87 @@
+package com.eventmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketInventoryTest {
+
+    @Test
+    void initialCountIsSpreadOverStripes() {
+        TicketInventory.StripedCounter counter = new TicketInventory.StripedCounter(4, 10);
+
+        assertThat(counter.sum()).isEqualTo(10);
+    }
+
+    @Test
+    void takeStealsFromOtherStripes() {
+        // One ticket per stripe: any take of more than one must cross stripes
+        TicketInventory.StripedCounter counter = new TicketInventory.StripedCounter(4, 4);
+
+        assertThat(counter.tryTake(3)).isTrue();
+        assertThat(counter.sum()).isEqualTo(1);
+        assertThat(counter.tryTake(1)).isTrue();
+        assertThat(counter.sum()).isZero();
+    }
+
+    @Test
+    void failedTakePutsBackWhatItTook() {
+        TicketInventory.StripedCounter counter = new TicketInventory.StripedCounter(4, 3);
+
+        assertThat(counter.tryTake(4)).isFalse();
+        assertThat(counter.sum()).isEqualTo(3);
+        assertThat(counter.tryTake(3)).isTrue();
+        assertThat(counter.tryTake(1)).isFalse();
+        assertThat(counter.sum()).isZero();
+    }
+
+    @Test
+    void concurrentTakesNeverOversell() throws Exception {
+        int tickets = 1000;
+        TicketInventory.StripedCounter counter = new TicketInventory.StripedCounter(8, tickets);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    int taken = 0;
+                    // Mixed sizes, so takes near zero have to fail and roll back
+                    for (int size = 1; ; size = size % 3 + 1) {
+                        if (counter.tryTake(size)) {
+                            taken += size;
+                        } else if (counter.sum() == 0) {
+                            return taken;
+                        }
+                    }
+                }));
+            }
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(taken).isEqualTo(tickets);
+            assertThat(counter.sum()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void addAndShrinkAdjustTheTotal() {
+        TicketInventory.StripedCounter counter = new TicketInventory.StripedCounter(4, 2);
+
+        counter.add(5);
+        assertThat(counter.sum()).isEqualTo(7);
+        counter.shrinkTo(3);
+        assertThat(counter.sum()).isEqualTo(3);
+        counter.shrinkTo(5);
+        assertThat(counter.sum()).isEqualTo(3);
+    }
+}
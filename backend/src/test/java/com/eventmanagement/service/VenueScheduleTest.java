@@ -0,0 +1,178 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Venue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VenueScheduleTest {
+
+    private static final Long VENUE = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 1, 18, 0);
+    private static final LocalDateTime END = START.plusHours(3);
+
+    private final VenueSchedule schedule = new VenueSchedule("memory");
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void concurrentReservationsOfOneSlotAdmitOnlyOne() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CyclicBarrier ready = new CyclicBarrier(threads);
+        CountDownLatch checked = new CountDownLatch(threads);
+        CountDownLatch finish = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    // Each thread is its own open transaction until the test lets it finish
+                    TransactionSynchronizationManager.initSynchronization();
+                    try {
+                        ready.await();
+                        boolean reserved = schedule.reserve(VENUE, START, END, null);
+                        checked.countDown();
+                        finish.await();
+                        return reserved;
+                    } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                    }
+                }));
+            }
+            assertThat(checked.await(10, TimeUnit.SECONDS)).isTrue();
+            finish.countDown();
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) reserved++;
+            }
+            assertThat(reserved).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackReservationFreesTheSlot() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(schedule.reserve(VENUE, START, END, null)).isTrue();
+        assertThat(schedule.isFree(VENUE, START.plusHours(1), END.plusHours(1), null)).isFalse();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(schedule.isFree(VENUE, START, END, null)).isTrue();
+    }
+
+    @Test
+    void committedReservationGivesWayToTheEvent() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(schedule.reserve(VENUE, START, END, null)).isTrue();
+        schedule.putAfterCommit(event(7L, START, END));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(schedule.isFree(VENUE, START, END, null)).isFalse();
+        assertThat(schedule.isFree(VENUE, START, END, 7L)).isTrue();
+    }
+
+    @Test
+    void updateMayMoveWithinItsOwnSlot() {
+        schedule.put(event(7L, START, END));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(schedule.reserve(VENUE, START.plusHours(1), END.plusHours(1), 7L)).isTrue();
+        assertThat(schedule.reserve(VENUE, START.plusHours(1), END.plusHours(1), null)).isFalse();
+    }
+
+    @Test
+    void treeFindsOverlapsInclusively() {
+        VenueSchedule.IntervalTree tree = new VenueSchedule.IntervalTree();
+        tree.insert(10, 20, 1);
+        tree.insert(30, 40, 2);
+
+        assertThat(tree.overlaps(20, 25, null)).isTrue();
+        assertThat(tree.overlaps(25, 30, null)).isTrue();
+        assertThat(tree.overlaps(21, 29, null)).isFalse();
+        assertThat(tree.overlaps(0, 9, null)).isFalse();
+        assertThat(tree.overlaps(0, 100, null)).isTrue();
+        assertThat(tree.overlaps(15, 16, 1L)).isFalse();
+    }
+
+    @Test
+    void treeMatchesABruteForceScanUnderRandomInsertsAndDeletes() {
+        VenueSchedule.IntervalTree tree = new VenueSchedule.IntervalTree();
+        Map<Long, long[]> intervals = new HashMap<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(500);
+            if (intervals.containsKey(id) && random.nextBoolean()) {
+                tree.delete(id);
+                intervals.remove(id);
+            } else if (!intervals.containsKey(id)) {
+                long start = random.nextInt(100_000);
+                long[] interval = {start, start + random.nextInt(2_000)};
+                tree.insert(interval[0], interval[1], id);
+                intervals.put(id, interval);
+            }
+            long from = random.nextInt(100_000);
+            long to = from + random.nextInt(1_000);
+            Long exclude = random.nextInt(4) == 0 ? id : null;
+            boolean expected = intervals.entrySet().stream().anyMatch(e ->
+                    !e.getKey().equals(exclude) && e.getValue()[0] <= to && e.getValue()[1] >= from);
+            assertThat(tree.overlaps(from, to, exclude)).as("step %d", step).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void deletingAnUnknownIdLeavesTheTreeAlone() {
+        VenueSchedule.IntervalTree tree = new VenueSchedule.IntervalTree();
+        tree.insert(10, 20, 1);
+
+        tree.delete(2);
+        tree.delete(1);
+        tree.delete(1);
+
+        assertThat(tree.overlaps(0, 100, null)).isFalse();
+    }
+
+    /** Runs the registered synchronizations the way a transaction manager would. */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    private static Event event(Long id, LocalDateTime start, LocalDateTime end) {
+        return Event.builder()
+                .id(id)
+                .venue(Venue.builder().id(VENUE).build())
+                .status(Event.EventStatus.PUBLISHED)
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.BookRequest;
+import com.eventmanagement.dto.RegistrationDTO;
+import com.eventmanagement.dto.WaitlistDTO;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Ticket;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.TicketRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tickets returned to an event whose head waiter asked for more than came back must not
+ * sit unused: smaller waiters behind the head get them, and once nobody waiting can use
+ * what is left, direct bookings may.
+ */
+@SpringBootTest(properties = "spring.config.name=test-application")
+class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+    @Autowired
+    private RegistrationService registrationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = saveUser(User.UserRole.ORGANIZER);
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        event = eventRepository.save(Event.builder()
+                .name("Small Hall Concert")
+                .startDate(start)
+                .endDate(start.plusHours(2))
+                .location("Springfield")
+                .status(Event.EventStatus.PUBLISHED)
+                .maxAttendees(3)
+                .ticketPrice(10.0)
+                .organizer(organizer)
+                .build());
+        ticketRepository.save(Ticket.builder()
+                .event(event)
+                .eventName(event.getName())
+                .maxTickets(3)
+                .ticketsLeft(3)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void smallerWaiterGetsTicketsTheHeadCannotUse() {
+        book(saveUser(User.UserRole.ATTENDEE), 2);
+        User cancelling = saveUser(User.UserRole.ATTENDEE);
+        RegistrationDTO booking = book(cancelling, 1);
+        User head = saveUser(User.UserRole.ATTENDEE);
+        User behind = saveUser(User.UserRole.ATTENDEE);
+        join(head, 3);
+        join(behind, 1);
+
+        as(cancelling);
+        registrationService.cancel(booking.getId());
+
+        assertThat(status(behind)).isEqualTo(WaitlistDTO.Status.BOOKED);
+        assertThat(status(head)).isEqualTo(WaitlistDTO.Status.WAITING);
+        assertThat(ticketsLeft()).isZero();
+    }
+
+    @Test
+    void directBookingTakesTicketsNoWaiterCanUse() {
+        book(saveUser(User.UserRole.ATTENDEE), 2);
+        User cancelling = saveUser(User.UserRole.ATTENDEE);
+        RegistrationDTO booking = book(cancelling, 1);
+        User head = saveUser(User.UserRole.ATTENDEE);
+        join(head, 3);
+
+        as(cancelling);
+        registrationService.cancel(booking.getId());
+        assertThat(ticketsLeft()).isEqualTo(1);
+
+        book(saveUser(User.UserRole.ATTENDEE), 1);
+
+        assertThat(ticketsLeft()).isZero();
+        assertThat(status(head)).isEqualTo(WaitlistDTO.Status.WAITING);
+    }
+
+    @Test
+    void directBookingWaitsWhileAWaiterCouldBeServed() {
+        book(saveUser(User.UserRole.ATTENDEE), 3);
+        User waiting = saveUser(User.UserRole.ATTENDEE);
+        join(waiting, 1);
+        // Freed outside a cancellation, so nobody was promoted yet
+        Ticket ticket = ticketRepository.findByEventId(event.getId()).orElseThrow();
+        ticket.setTicketsLeft(1);
+        ticketRepository.save(ticket);
+
+        User direct = saveUser(User.UserRole.ATTENDEE);
+        assertThatThrownBy(() -> book(direct, 1))
+                .hasMessage(RegistrationService.WAITLIST_FIRST);
+    }
+
+    private RegistrationDTO book(User user, int tickets) {
+        as(user);
+        return registrationService.book(new BookRequest(event.getId(), tickets));
+    }
+
+    private void join(User user, int tickets) {
+        as(user);
+        waitlistService.join(new BookRequest(event.getId(), tickets));
+    }
+
+    private WaitlistDTO.Status status(User user) {
+        as(user);
+        return waitlistService.status(event.getId()).getStatus();
+    }
+
+    private int ticketsLeft() {
+        return ticketRepository.findByEventId(event.getId()).orElseThrow().getTicketsLeft();
+    }
+
+    private void as(User user) {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole().name()), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))));
+    }
+
+    private User saveUser(User.UserRole role) {
+        return userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName(role.name())
+                .email("waitlist-" + UUID.randomUUID() + "@example.com")
+                .role(role)
+                .build());
+    }
+}